@@ -0,0 +1,136 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga em malha fechada nos endpoints de leitura do CampaignController.
+ * Roda direto com {@code java CampaignLoadTest.java} e imprime uma linha JSON
+ * com throughput e latências (p50/p99/max) para comparar os modos de execução.
+ *
+ * <pre>
+ * java CampaignLoadTest.java --base-url http://localhost:8080 --concurrency 400 \
+ *     --duration 30 --label virtual --header "Authorization: Bearer ..."
+ * </pre>
+ */
+public class CampaignLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = "http://localhost:8080";
+        String label = "run";
+        int concurrency = 200;
+        int durationSeconds = 30;
+        int warmupSeconds = 5;
+        List<String> paths = new ArrayList<>(List.of("/api/v1/campaigns?page=0&size=20", "/api/v1/campaigns/1"));
+        List<String> headers = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--base-url" -> baseUrl = args[++i];
+                case "--label" -> label = args[++i];
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--duration" -> durationSeconds = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[++i]);
+                case "--paths" -> paths = Arrays.asList(args[++i].split(","));
+                case "--header" -> headers.add(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : paths) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET();
+            for (String header : headers) {
+                int colon = header.indexOf(':');
+                builder.header(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+            }
+            requests.add(builder.build());
+        }
+
+        run(client, requests, concurrency, warmupSeconds);
+        Result result = run(client, requests, concurrency, durationSeconds);
+        System.out.printf(
+                "{\"label\":\"%s\",\"concurrency\":%d,\"durationSeconds\":%d,\"requests\":%d,\"errors\":%d,"
+                        + "\"throughputRps\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}%n",
+                label, concurrency, durationSeconds, result.latenciesNanos.length, result.errors,
+                result.latenciesNanos.length / (double) durationSeconds,
+                percentile(result.latenciesNanos, 0.50), percentile(result.latenciesNanos, 0.99),
+                percentile(result.latenciesNanos, 1.0));
+    }
+
+    private static Result run(HttpClient client, List<HttpRequest> requests, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int offset = w;
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[4096];
+                    int count = 0;
+                    int i = offset;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.get(i++ % requests.size());
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> results = new ArrayList<>(workers.size());
+        int total = 0;
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            results.add(latencies);
+            total += latencies.length;
+        }
+        long[] all = new long[total];
+        int position = 0;
+        for (long[] latencies : results) {
+            System.arraycopy(latencies, 0, all, position, latencies.length);
+            position += latencies.length;
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+}
@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Compara a subida do build padrão com o build de subida rápida (-Pfast-startup:
+# AOT + AppCDS + perfil prod): tempo até a primeira resposta HTTP e RSS do processo
+# nesse momento. Cada modo sobe RUNS vezes; resultado por rodada em
+# target/startup-results.ndjson e mediana no final.
+#
+# Uso: loadtest/compare-startup.sh [runs]
+# Variáveis: DB_URL/DB_USERNAME/DB_PASSWORD (banco de teste), STARTUP_PATH (request
+#            medido, qualquer status conta como resposta), PORT, MVN_ARGS (ex.: -Ph2),
+#            JAVA_OPTS (vale para os dois modos), JWT_SECRET.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+STARTUP_PATH="${STARTUP_PATH:-/actuator/health}"
+JAR="target/engine-0.0.1-SNAPSHOT.jar"
+FAST_DIR="target/fast-startup"
+# Fora do perfil local a API não sobe sem segredo do JWT
+export JWT_SECRET="${JWT_SECRET:-loadtest-secret-not-for-production-0000}"
+
+# Um build só: o código AOT fica inerte no jar padrão sem -Dspring.aot.enabled=true
+mvn -q -B -Pfast-startup ${MVN_ARGS:-} package -DskipTests
+
+now_ms() {
+    date +%s%3N
+}
+
+run_once() {
+    local label="$1" run="$2"; shift 2
+    local started
+    started=$(now_ms)
+    "$@" --server.port="$PORT" > "target/startup-$label-$run.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true; wait $pid 2>/dev/null || true' RETURN
+
+    local status=000
+    for _ in $(seq 1 2400); do
+        status=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$STARTUP_PATH" || true)
+        [[ "$status" != "000" ]] && break
+        kill -0 "$pid" 2>/dev/null || break
+        sleep 0.05
+    done
+    local elapsed=$(( $(now_ms) - started ))
+    if [[ "$status" == "000" ]]; then
+        echo "$label run $run: no response, see target/startup-$label-$run.log" >&2
+        return 1
+    fi
+    local rss_kb
+    rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+    printf '{"mode":"%s","run":%d,"firstResponseMs":%d,"status":%s,"rssMb":%d}\n' \
+        "$label" "$run" "$elapsed" "$status" $(( rss_kb / 1024 )) | tee -a target/startup-results.ndjson
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2)) }'
+}
+
+summary() {
+    local label="$1" field
+    for field in firstResponseMs rssMb; do
+        printf '%s %s median: %s\n' "$label" "$field" "$(grep "\"mode\":\"$label\"" target/startup-results.ndjson \
+            | sed -E "s/.*\"$field\":([0-9]+).*/\1/" | median)"
+    done
+}
+
+: > target/startup-results.ndjson
+for run in $(seq 1 "$RUNS"); do
+    run_once standard "$run" java ${JAVA_OPTS:-} -jar "$JAR"
+    run_once fast-startup "$run" env SPRING_PROFILES_ACTIVE=prod java ${JAVA_OPTS:-} \
+        -XX:SharedArchiveFile="$FAST_DIR/application.jsa" -Xlog:cds=error -Dspring.aot.enabled=true \
+        -jar "$FAST_DIR/engine-0.0.1-SNAPSHOT.jar"
+done
+summary standard
+summary fast-startup
@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Compara throughput e p99 dos endpoints de leitura de campanhas entre o modo
+# padrão (pool de platform threads do Tomcat) e o perfil "virtual".
+#
+# Uso: loadtest/compare-threading-modes.sh [concurrency] [duration-seconds]
+# Variáveis: DB_URL/DB_USERNAME/DB_PASSWORD (banco de teste), AUTH_HEADER,
+#            LOADTEST_PATHS (lista separada por vírgula), PORT, JWT_SECRET (o mesmo
+#            que assinou o token do AUTH_HEADER).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-400}"
+DURATION="${2:-30}"
+PORT="${PORT:-8080}"
+PATHS="${LOADTEST_PATHS:-/api/v1/campaigns?page=0&size=20,/api/v1/campaigns/1}"
+JAR="target/engine-0.0.1-SNAPSHOT.jar"
+# Fora do perfil local a API não sobe sem segredo do JWT
+export JWT_SECRET="${JWT_SECRET:-loadtest-secret-not-for-production-0000}"
+
+mvn -q -B package -DskipTests
+
+run_mode() {
+    local label="$1"; shift
+    java -jar "$JAR" --server.port="$PORT" "$@" > "target/loadtest-$label.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    for _ in $(seq 1 120); do
+        curl -fs -o /dev/null "http://localhost:$PORT/actuator/health" && break
+        sleep 1
+    done
+
+    local header_args=()
+    if [[ -n "${AUTH_HEADER:-}" ]]; then
+        header_args=(--header "$AUTH_HEADER")
+    fi
+    java loadtest/CampaignLoadTest.java --base-url "http://localhost:$PORT" --label "$label" \
+        --concurrency "$CONCURRENCY" --duration "$DURATION" --paths "$PATHS" "${header_args[@]}" \
+        | tee -a target/loadtest-results.ndjson
+}
+
+: > target/loadtest-results.ndjson
+run_mode platform
+run_mode virtual --spring.profiles.active=virtual
@@ -0,0 +1,78 @@
+package com.catarse.engine.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dois resultados JSON do JMH (antes/depois) e termina com código 1 se
+ * algum benchmark piorar além do limite. Só considera modos em que menor é
+ * melhor (avgt, sample, ss); o score em thrpt é invertido.
+ * <p>
+ * {@code mvn -Pbenchmarks exec:exec@compare-benchmarks -Djmh.baseline=baseline.json [-Djmh.threshold=10]}
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Result> baseline = read(objectMapper, new File(args[0]));
+        Map<String, Result> current = read(objectMapper, new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-70s %12s -> %12.3f %s (new)%n", entry.getKey(), "-", after.score(), after.unit());
+                continue;
+            }
+            double change = after.cost() / before.cost() * 100.0 - 100.0;
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %12.3f -> %12.3f %s %+7.1f%%%s%n", entry.getKey(), before.score(),
+                    after.score(), after.unit(), change, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(ObjectMapper objectMapper, File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode node : objectMapper.readTree(file)) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText())
+                    .append(" [").append(node.path("mode").asText()).append(']');
+            node.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = node.path("primaryMetric");
+            results.put(key.toString(), new Result(node.path("mode").asText(),
+                    metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private record Result(String mode, double score, String unit) {
+
+        // Custo normalizado: em throughput, maior é melhor
+        double cost() {
+            return "thrpt".equals(mode) ? 1.0 / score : score;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.catarse.engine.benchmark;
+
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.entity.Campaign;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.service.impl.CampaignServiceImpl;
+import com.catarse.engine.donation.service.DonationService;
+import com.catarse.engine.money.Money;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Dados sintéticos com o formato das campanhas reais (descrição perto do limite de 500)
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Campaign campaign(long id) {
+        Campaign campaign = new Campaign();
+        campaign.setId(id);
+        campaign.setTitle("Campanha de financiamento coletivo número " + id);
+        campaign.setDescription("Descrição da campanha ".repeat(22));
+        campaign.setGoalAmount(Money.ofCents(15_000_000));
+        campaign.setCurrentAmount(Money.ofCents(id * 1234L + 99));
+        campaign.setStartDate(NOW.minusDays(10));
+        campaign.setEndDate(NOW.plusDays(20 + id % 30));
+        campaign.setStatus(CampaignStatus.ACTIVE);
+        campaign.setUserId(1000 + id % 50);
+        campaign.setCreatedAt(NOW.minusDays(12));
+        campaign.setUpdatedAt(NOW.minusHours(id % 24));
+        return campaign;
+    }
+
+    public static List<Campaign> campaigns(int count) {
+        List<Campaign> campaigns = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            campaigns.add(campaign(id));
+        }
+        return campaigns;
+    }
+
+    public static CampaignResponse response(long id) {
+        Campaign campaign = campaign(id);
+        CampaignResponse response = new CampaignResponse();
+        response.setId(campaign.getId());
+        response.setTitle(campaign.getTitle());
+        response.setDescription(campaign.getDescription());
+        response.setGoalAmount(campaign.getGoalAmount());
+        response.setCurrentAmount(campaign.getCurrentAmount());
+        response.setStartDate(campaign.getStartDate());
+        response.setEndDate(campaign.getEndDate());
+        response.setStatus(campaign.getStatus());
+        response.setUserId(campaign.getUserId());
+        response.setCreatedAt(campaign.getCreatedAt());
+        response.setUpdatedAt(campaign.getUpdatedAt());
+        return response;
+    }
+
+    public static List<CampaignResponse> responses(int count) {
+        List<CampaignResponse> responses = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            responses.add(response(id));
+        }
+        return responses;
+    }
+
+    // Serviço só para o mapeamento entidade → resposta: preenche o construtor pelo tipo do parâmetro,
+    // só o DonationService recebe o stub e o resto fica nulo, sem depender da posição dos argumentos
+    public static CampaignServiceImpl mappingOnlyCampaignService() {
+        Constructor<?> constructor = CampaignServiceImpl.class.getConstructors()[0];
+        Class<?>[] types = constructor.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == DonationService.class) {
+                args[i] = zeroPendingDonations();
+            }
+        }
+        try {
+            return (CampaignServiceImpl) constructor.newInstance(args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot build CampaignServiceImpl for benchmarks", e);
+        }
+    }
+
+    // Só o getPendingAmount é usado no mapeamento das campanhas; proxy para não depender do resto da interface
+    public static DonationService zeroPendingDonations() {
+        return (DonationService) Proxy.newProxyInstance(DonationService.class.getClassLoader(),
+                new Class<?>[]{DonationService.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getPendingAmount")) {
+                        return Money.ZERO;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
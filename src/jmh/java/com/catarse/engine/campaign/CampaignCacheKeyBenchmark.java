@@ -0,0 +1,52 @@
+package com.catarse.engine.campaign;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chave SpEL do {@code @Cacheable} de getAllActiveCampaigns. O Spring guarda a
+ * expressão já parseada; a cada chamada cria o contexto e avalia — é isso que
+ * {@link #evaluate()} mede. {@link #parseAndEvaluate()} é o pior caso.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampaignCacheKeyBenchmark {
+
+    private static final String KEY =
+            "'active_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort";
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private Expression expression;
+    private Pageable pageable;
+
+    @Setup
+    public void setup() {
+        expression = parser.parseExpression(KEY);
+        pageable = PageRequest.of(3, 20, Sort.by("endDate"));
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("pageable", pageable);
+        return expression.getValue(context);
+    }
+
+    @Benchmark
+    public Object parseAndEvaluate() {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("pageable", pageable);
+        return parser.parseExpression(KEY).getValue(context);
+    }
+}
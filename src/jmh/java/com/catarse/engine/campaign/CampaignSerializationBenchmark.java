@@ -0,0 +1,43 @@
+package com.catarse.engine.campaign;
+
+import com.catarse.engine.benchmark.BenchmarkFixtures;
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialização Jackson das respostas, com o mesmo ObjectMapper que o Spring Boot monta
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampaignSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CampaignResponse response;
+    private Page<CampaignResponse> page;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = BenchmarkFixtures.response(42);
+        page = new PageImpl<>(BenchmarkFixtures.responses(20), PageRequest.of(0, 20), 5_000);
+    }
+
+    @Benchmark
+    public byte[] serializeCampaign() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
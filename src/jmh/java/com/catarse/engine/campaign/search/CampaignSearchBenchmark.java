@@ -0,0 +1,93 @@
+package com.catarse.engine.campaign.search;
+
+import com.catarse.engine.campaign.dto.projection.CampaignSearchDocument;
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
+import com.catarse.engine.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca sobre 100 mil campanhas ACTIVE com texto sintético (vocabulário com
+ * distribuição desigual, como texto real). Em modo sample para ler o p99:
+ * termo comum, dois termos, digitação por prefixo e consulta com acentos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampaignSearchBenchmark {
+
+    private static final String[] VOCABULARY = {
+            "campanha", "projeto", "comunidade", "educação", "escola", "música", "álbum", "livro", "saúde",
+            "animais", "resgate", "esporte", "teatro", "cinema", "documentário", "quadrinhos", "jogo", "tecnologia",
+            "ação", "social", "cultura", "arte", "festival", "biblioteca", "horta", "bairro", "crianças", "jovens",
+            "mulheres", "reforma", "sede", "equipamentos", "viagem", "pesquisa", "ciência", "periferia", "coletivo",
+            "independente", "gravação", "turnê", "exposição", "fotografia", "podcast", "revista", "oficina"};
+
+    @Param({"100000"})
+    private int campaigns;
+
+    private CampaignSearchIndex index;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 12, 0);
+        CampaignRankingIndex ranking = new CampaignRankingIndex(null, null, Duration.ofHours(1), 60);
+        List<Row> rows = new ArrayList<>(campaigns);
+        for (long id = 1; id <= campaigns; id++) {
+            String title = words(random, 4);
+            String description = words(random, 40);
+            rows.add(new Row(id, title, description));
+            ranking.upsert(CampaignResponse.builder().id(id).title(title).description(description)
+                    .goalAmount(Money.ofCents(5_000_000)).currentAmount(Money.ofCents(random.nextLong(6_000_000)))
+                    .endDate(now.plusDays(1 + id % 60)).status(CampaignStatus.ACTIVE).userId(1000 + id % 50)
+                    .build());
+        }
+        index = new CampaignSearchIndex(null, ranking, null, 0.5);
+        index.load(rows.stream());
+    }
+
+    @Benchmark
+    public Object commonTerm() {
+        return index.search("campanha ", 20);
+    }
+
+    @Benchmark
+    public Object twoTerms() {
+        return index.search("escola bairro ", 20);
+    }
+
+    @Benchmark
+    public Object typeahead() {
+        return index.search("projeto educ", 20);
+    }
+
+    @Benchmark
+    public Object accents() {
+        return index.search("acao cultura na periferia ", 20);
+    }
+
+    // Palavras sorteadas com peso decrescente: as primeiras do vocabulário aparecem muito mais
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            double u = random.nextDouble();
+            text.append(i == 0 ? "" : " ").append(VOCABULARY[(int) (u * u * VOCABULARY.length)]);
+        }
+        return text.toString();
+    }
+
+    private record Row(Long getId, String getTitle, String getDescription) implements CampaignSearchDocument {
+    }
+}
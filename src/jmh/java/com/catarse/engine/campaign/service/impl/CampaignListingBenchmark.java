@@ -0,0 +1,99 @@
+package com.catarse.engine.campaign.service.impl;
+
+import com.catarse.engine.benchmark.BenchmarkFixtures;
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.entity.Campaign;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Objetos criados por página da listagem de ativas, a partir das colunas já lidas
+ * do ResultSet. {@link #entityPage} reproduz o caminho com entidade gerenciada
+ * (entidade + snapshot de dirty-checking + CampaignResponse com descrição);
+ * {@link #summaryPage} o caminho por projeção (um CampaignSummaryResponse por
+ * linha). Para ver bytes por operação: {@code -Djmh.args="CampaignListing -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampaignListingBenchmark {
+
+    private static final MethodHandle MAP_TO_RESPONSE;
+
+    static {
+        try {
+            MAP_TO_RESPONSE = MethodHandles.privateLookupIn(CampaignServiceImpl.class, MethodHandles.lookup())
+                    .findVirtual(CampaignServiceImpl.class, "mapToResponse",
+                            MethodType.methodType(CampaignResponse.class, Campaign.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"20"})
+    private int pageSize;
+
+    private CampaignServiceImpl service;
+    private Object[][] rows;
+
+    @Setup
+    public void setup() {
+        service = BenchmarkFixtures.mappingOnlyCampaignService();
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 12, 0);
+        rows = new Object[pageSize][];
+        for (int i = 0; i < pageSize; i++) {
+            long id = i + 1;
+            // Valores como o driver entrega: a descrição chega inteira mesmo que o card não use
+            rows[i] = new Object[]{id, "Campanha de financiamento coletivo número " + id,
+                    "Descrição da campanha ".repeat(22), new BigDecimal("150000.00"), BigDecimal.valueOf(id * 1234L, 2),
+                    now.minusDays(10), now.plusDays(20 + id), CampaignStatus.ACTIVE, 1000 + id, null,
+                    now.minusDays(12), now.minusHours(id)};
+        }
+    }
+
+    @Benchmark
+    public void entityPage(Blackhole blackhole) throws Throwable {
+        for (Object[] row : rows) {
+            Campaign campaign = new Campaign();
+            campaign.setId((Long) row[0]);
+            campaign.setTitle((String) row[1]);
+            campaign.setDescription((String) row[2]);
+            campaign.setGoalAmount(Money.of((BigDecimal) row[3]));
+            campaign.setCurrentAmount(Money.of((BigDecimal) row[4]));
+            campaign.setStartDate((LocalDateTime) row[5]);
+            campaign.setEndDate((LocalDateTime) row[6]);
+            campaign.setStatus((CampaignStatus) row[7]);
+            campaign.setUserId((Long) row[8]);
+            campaign.setGoalReachedAt((LocalDateTime) row[9]);
+            campaign.setCreatedAt((LocalDateTime) row[10]);
+            campaign.setUpdatedAt((LocalDateTime) row[11]);
+            // Snapshot do estado carregado, mantido pelo Hibernate fora de sessões read-only
+            blackhole.consume(row.clone());
+            blackhole.consume((CampaignResponse) MAP_TO_RESPONSE.invokeExact(service, campaign));
+        }
+    }
+
+    @Benchmark
+    public void summaryPage(Blackhole blackhole) {
+        for (Object[] row : rows) {
+            CampaignSummaryResponse summary = new CampaignSummaryResponse((Long) row[0], (String) row[1],
+                    Money.of((BigDecimal) row[3]), Money.of((BigDecimal) row[4]), (LocalDateTime) row[6], (CampaignStatus) row[7],
+                    (Long) row[8], (LocalDateTime) row[9]);
+            summary.setCurrentAmount(summary.getCurrentAmount().plus(Money.ZERO));
+            blackhole.consume(summary);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.catarse.engine.campaign.service.impl;
+
+import com.catarse.engine.benchmark.BenchmarkFixtures;
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.entity.Campaign;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// CampaignServiceImpl.mapToResponse: uma campanha e uma página de 20
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampaignMappingBenchmark {
+
+    private static final MethodHandle MAP_TO_RESPONSE;
+
+    static {
+        try {
+            MAP_TO_RESPONSE = MethodHandles.privateLookupIn(CampaignServiceImpl.class, MethodHandles.lookup())
+                    .findVirtual(CampaignServiceImpl.class, "mapToResponse",
+                            MethodType.methodType(CampaignResponse.class, Campaign.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private CampaignServiceImpl service;
+    private Campaign campaign;
+    private List<Campaign> page;
+
+    @Setup
+    public void setup() {
+        service = BenchmarkFixtures.mappingOnlyCampaignService();
+        campaign = BenchmarkFixtures.campaign(42);
+        page = BenchmarkFixtures.campaigns(20);
+    }
+
+    @Benchmark
+    public CampaignResponse mapSingle() throws Throwable {
+        return (CampaignResponse) MAP_TO_RESPONSE.invokeExact(service, campaign);
+    }
+
+    @Benchmark
+    public void mapPage(Blackhole blackhole) throws Throwable {
+        for (Campaign item : page) {
+            blackhole.consume((CampaignResponse) MAP_TO_RESPONSE.invokeExact(service, item));
+        }
+    }
+}
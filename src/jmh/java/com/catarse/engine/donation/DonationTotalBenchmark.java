@@ -0,0 +1,66 @@
+package com.catarse.engine.donation;
+
+import com.catarse.engine.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Soma de 1.000 doações: BigDecimal (como era nas entidades), Money e centavos em long
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DonationTotalBenchmark {
+
+    @Param({"1000"})
+    private int donations;
+
+    private BigDecimal[] amounts;
+    private Money[] money;
+    private long[] cents;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = new BigDecimal[donations];
+        money = new Money[donations];
+        cents = new long[donations];
+        for (int i = 0; i < donations; i++) {
+            long value = 100 + random.nextLong(50_000);
+            cents[i] = value;
+            money[i] = Money.ofCents(value);
+            amounts[i] = BigDecimal.valueOf(value, 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneyTotal() {
+        Money total = Money.ZERO;
+        for (Money amount : money) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long centsTotal() {
+        long total = 0;
+        for (long value : cents) {
+            total = Math.addExact(total, value);
+        }
+        return total;
+    }
+}
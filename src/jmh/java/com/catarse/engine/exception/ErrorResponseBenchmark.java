@@ -0,0 +1,51 @@
+package com.catarse.engine.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// Montagem do ErrorResponse no GlobalExceptionHandler (sem o custo de lançar a exceção)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private ResourceNotFoundException notFound;
+    private BusinessException business;
+
+    @Setup
+    public void setup() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        request = new MockHttpServletRequest("GET", "/api/v1/campaigns/42");
+        notFound = new ResourceNotFoundException("Campaign not found with id: 42");
+        business = new BusinessException("Campaign is not accepting donations: 42");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleNotFound(notFound, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> badRequest() {
+        return handler.handleBusinessException(business, request);
+    }
+
+    // Custo de criar a exceção com stack trace, que acompanha cada erro real
+    @Benchmark
+    public ResponseEntity<ErrorResponse> throwAndHandle() {
+        try {
+            throw new ResourceNotFoundException("Campaign not found with id: 42");
+        } catch (ResourceNotFoundException e) {
+            return handler.handleNotFound(e, request);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.catarse.engine;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EngineApplication {
     public static void main(String[] args) {
         SpringApplication.run(EngineApplication.class, args);
@@ -0,0 +1,100 @@
+package com.catarse.engine.campaign.analytics;
+
+import com.catarse.engine.campaign.analytics.CampaignRollupStore.RollupRow;
+import com.catarse.engine.campaign.dto.response.CampaignAnalyticsBucketResponse;
+import com.catarse.engine.campaign.dto.response.CampaignAnalyticsResponse;
+import com.catarse.engine.money.Money;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Monta a série de uma campanha só a partir dos baldes gravados: uma leitura
+ * na chave {@code (campaign_id, granularity, bucket_start)}, uma faixa por
+ * granularidade, sem tocar em doações ou pagamentos. Baldes mais finos que o
+ * pedido são somados no balde pedido; os já compactados para algo mais grosso
+ * saem como estão, com a granularidade deles. O que ainda está no acumulador
+ * (alguns segundos) fica de fora.
+ */
+@Component
+public class CampaignAnalyticsReader {
+
+    private static final long MAX_BUCKETS = 5_000;
+
+    private static final Comparator<Point> POINT_ORDER = Comparator
+            .comparing(Point::start)
+            .thenComparing(Point::granularity, Comparator.reverseOrder());
+
+    private final CampaignRollupStore rollupStore;
+
+    public CampaignAnalyticsReader(CampaignRollupStore rollupStore) {
+        this.rollupStore = rollupStore;
+    }
+
+    // from e to opcionais: até agora, voltando uma janela padrão da granularidade
+    public CampaignAnalyticsResponse read(Long campaignId, RollupGranularity granularity,
+                                          LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = granularity.truncate(from != null ? from : end.minus(defaultWindow(granularity)));
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (Duration.between(start, end).dividedBy(granularity.duration()) > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Range too large: at most " + MAX_BUCKETS + " " + granularity
+                    + " buckets per request");
+        }
+
+        // Um dia compactado pode começar antes de start e ainda cobrir parte do intervalo
+        List<RollupRow> rows = rollupStore.findRange(campaignId, RollupGranularity.DAY.truncate(start), end);
+        Map<Point, RollupAggregate> points = new TreeMap<>(POINT_ORDER);
+        RollupAggregate totals = new RollupAggregate();
+        for (RollupRow row : rows) {
+            if (!row.granularity().end(row.bucketStart()).isAfter(start)) {
+                continue;
+            }
+            RollupGranularity pointGranularity = row.granularity().isFinerThan(granularity) ? granularity : row.granularity();
+            points.computeIfAbsent(new Point(pointGranularity.truncate(row.bucketStart()), pointGranularity),
+                    point -> new RollupAggregate()).merge(row.aggregate());
+            totals.merge(row.aggregate());
+        }
+
+        List<CampaignAnalyticsBucketResponse> buckets = new ArrayList<>(points.size());
+        points.forEach((point, aggregate) -> buckets.add(toResponse(point.start(), point.granularity(), aggregate)));
+        return new CampaignAnalyticsResponse(campaignId, granularity, start, end,
+                toResponse(null, null, totals), buckets);
+    }
+
+    private static Duration defaultWindow(RollupGranularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> Duration.ofHours(2);
+            case HOUR -> Duration.ofDays(2);
+            case DAY -> Duration.ofDays(90);
+        };
+    }
+
+    private static CampaignAnalyticsBucketResponse toResponse(LocalDateTime start, RollupGranularity granularity,
+                                                              RollupAggregate aggregate) {
+        return new CampaignAnalyticsBucketResponse(start, granularity,
+                aggregate.donations(),
+                Money.ofCents(aggregate.amountCents()),
+                toMoney(aggregate.averageCents()),
+                toMoney(aggregate.minCents()),
+                toMoney(aggregate.maxCents()),
+                aggregate.distinctDonors(),
+                aggregate.refunds(),
+                Money.ofCents(aggregate.refundedCents()));
+    }
+
+    private static Money toMoney(Long cents) {
+        return cents == null ? null : Money.ofCents(cents);
+    }
+
+    private record Point(LocalDateTime start, RollupGranularity granularity) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.catarse.engine.campaign.analytics;
+
+import com.catarse.engine.campaign.analytics.CampaignRollupStore.RollupKey;
+import com.catarse.engine.money.Money;
+import com.catarse.engine.payment.dto.projection.PendingRollup;
+import com.catarse.engine.payment.entity.PaymentStatus;
+import com.catarse.engine.payment.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Junta em memória as aprovações e estornos confirmados e grava a cada flush
+ * nos baldes de minuto de cada campanha ({@code campaign_rollups}): um
+ * read-modify-write por balde tocado, não por pagamento.
+ * <p>
+ * {@code payments.rollup_status} muda na mesma transação que grava os baldes;
+ * se o processo cair antes do flush, {@link #start()} reaplica o que ficou
+ * pendente, como o {@code CampaignTotalAccumulator} faz com os totais.
+ * <p>
+ * O flush trava as linhas dos pagamentos e só soma o que muda a marca:
+ * aprovação de pagamento ainda sem marca, estorno de pagamento marcado como
+ * aprovado. A mesma entrada vinda de outro nó (ou da recuperação de um nó que
+ * subiu) não conta duas vezes. Estorno cuja aprovação ainda não foi somada
+ * espera na fila pela aprovação.
+ */
+@Slf4j
+@Component
+public class CampaignRollupAccumulator implements SmartLifecycle {
+
+    private static final String LOCK_SQL =
+            "SELECT id, rollup_status FROM payments WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    private static final String MARK_SQL = "UPDATE payments SET rollup_status = ? WHERE id = ?";
+
+    private static final int RECOVERY_PAGE_SIZE = 1000;
+    private static final int LOCK_CHUNK_SIZE = 1000;
+    // Flushes que um estorno espera pela aprovação (~5 min); depois sai da fila e a recuperação na subida refaz
+    private static final int MAX_DEFERRALS = 60;
+
+    private final CampaignRollupStore rollupStore;
+    private final PaymentRepository paymentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+    private volatile boolean running;
+
+    public CampaignRollupAccumulator(CampaignRollupStore rollupStore,
+                                     PaymentRepository paymentRepository,
+                                     JdbcTemplate jdbcTemplate) {
+        this.rollupStore = rollupStore;
+        this.paymentRepository = paymentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    // Pagamento aprovado, no balde da hora da confirmação; o doador é o dono da doação
+    public void recordApproval(Long paymentId, Long campaignId, Long donorId, Money amount, LocalDateTime at) {
+        entries.add(new Entry(paymentId, campaignId, donorId, amount.cents(), at, false, 0));
+    }
+
+    // Estorno, no balde da hora do estorno
+    public void recordRefund(Long paymentId, Long campaignId, Money amount, LocalDateTime at) {
+        entries.add(new Entry(paymentId, campaignId, null, amount.cents(), at, true, 0));
+    }
+
+    @Scheduled(fixedDelayString = "${catarse.campaigns.analytics.flush-interval-ms:5000}")
+    public void flush() {
+        List<Entry> drained = new ArrayList<>();
+        Entry entry;
+        while ((entry = entries.poll()) != null) {
+            drained.add(entry);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Entry> deferred;
+        try {
+            deferred = rollupStore.write(() -> apply(drained));
+        } catch (RuntimeException e) {
+            // Devolve para a fila; o próximo flush tenta de novo
+            entries.addAll(drained);
+            log.error("Failed to flush {} donation rollup entries", drained.size(), e);
+            return;
+        }
+        for (Entry waiting : deferred) {
+            if (waiting.deferrals() < MAX_DEFERRALS) {
+                entries.add(waiting.deferred());
+            } else {
+                log.warn("Dropping rollup refund of payment {}: its approval was never rolled up",
+                        waiting.paymentId());
+            }
+        }
+    }
+
+    // Dentro da transação: marca de cada pagamento travada, entradas aplicadas na ordem em que chegaram
+    private List<Entry> apply(List<Entry> drained) {
+        // Valor nulo: pagamento ainda sem nada somado
+        Map<Long, PaymentStatus> marks = lockMarks(drained);
+        Map<Long, PaymentStatus> original = new HashMap<>(marks);
+        // Em ordem de campanha e balde: duas transações nunca travam as mesmas linhas em ordens diferentes
+        Map<RollupKey, RollupAggregate> deltas = new TreeMap<>();
+        List<Entry> deferred = new ArrayList<>();
+        for (Entry pending : drained) {
+            if (!marks.containsKey(pending.paymentId())) {
+                log.warn("Skipping rollup entry for unknown payment {}", pending.paymentId());
+                continue;
+            }
+            PaymentStatus mark = marks.get(pending.paymentId());
+            if (pending.refund()) {
+                if (mark == null) {
+                    deferred.add(pending);
+                } else if (mark == PaymentStatus.APPROVED) {
+                    marks.put(pending.paymentId(), PaymentStatus.REFUNDED);
+                    delta(deltas, pending).addRefund(pending.cents());
+                }
+            } else if (mark == null) {
+                marks.put(pending.paymentId(), PaymentStatus.APPROVED);
+                delta(deltas, pending).addDonation(pending.donorId(), pending.cents());
+            }
+        }
+
+        rollupStore.merge(RollupGranularity.MINUTE, deltas);
+        List<Object[]> changed = new ArrayList<>();
+        marks.forEach((paymentId, mark) -> {
+            if (mark != original.get(paymentId)) {
+                changed.add(new Object[]{mark.name(), paymentId});
+            }
+        });
+        jdbcTemplate.batchUpdate(MARK_SQL, changed);
+        return deferred;
+    }
+
+    // Em ordem de id, em todos os nós
+    private Map<Long, PaymentStatus> lockMarks(List<Entry> drained) {
+        List<Long> ids = drained.stream().map(Entry::paymentId).distinct().sorted().toList();
+        Map<Long, PaymentStatus> marks = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOCK_CHUNK_SIZE) {
+            namedJdbcTemplate.query(LOCK_SQL,
+                    new MapSqlParameterSource("ids", ids.subList(from, Math.min(from + LOCK_CHUNK_SIZE, ids.size()))),
+                    rs -> {
+                        String mark = rs.getString(2);
+                        marks.put(rs.getLong(1), mark == null ? null : PaymentStatus.valueOf(mark));
+                    });
+        }
+        return marks;
+    }
+
+    private static RollupAggregate delta(Map<RollupKey, RollupAggregate> deltas, Entry entry) {
+        return deltas.computeIfAbsent(new RollupKey(entry.campaignId(), RollupGranularity.MINUTE.truncate(entry.at())),
+                key -> new RollupAggregate());
+    }
+
+    // Também é o backfill na primeira subida com a coluna: todo pagamento antigo aparece pendente
+    @Override
+    public void start() {
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = 0;
+        long recovered = 0;
+        List<PendingRollup> page;
+        do {
+            page = paymentRepository.findPendingRollups(afterId, Limit.of(RECOVERY_PAGE_SIZE));
+            for (PendingRollup payment : page) {
+                if (payment.getRollupStatus() == null && payment.getConfirmedAt() != null) {
+                    recordApproval(payment.getPaymentId(), payment.getCampaignId(), payment.getDonorId(),
+                            payment.getAmount(), payment.getConfirmedAt());
+                }
+                if (payment.getStatus() == PaymentStatus.REFUNDED) {
+                    recordRefund(payment.getPaymentId(), payment.getCampaignId(), payment.getAmount(),
+                            payment.getRefundedAt() != null ? payment.getRefundedAt() : now);
+                }
+                afterId = payment.getPaymentId();
+            }
+            recovered += page.size();
+            flush();
+        } while (page.size() == RECOVERY_PAGE_SIZE);
+        if (recovered > 0) {
+            log.warn("Recovered donation rollups for {} payments", recovered);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Como o acumulador de totais: sobe antes e para depois do processamento de pagamentos (fase 100)
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private record Entry(Long paymentId, Long campaignId, Long donorId, long cents, LocalDateTime at,
+                         boolean refund, int deferrals) {
+
+        Entry deferred() {
+            return new Entry(paymentId, campaignId, donorId, cents, at, refund, deferrals + 1);
+        }
+    }
+}
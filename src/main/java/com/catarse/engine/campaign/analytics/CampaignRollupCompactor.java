@@ -0,0 +1,67 @@
+package com.catarse.engine.campaign.analytics;
+
+import com.catarse.engine.campaign.analytics.CampaignRollupStore.RollupRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compacta baldes antigos: minutos viram a hora deles depois de
+ * {@code minute-retention}, horas viram o dia depois de {@code hour-retention}.
+ * Juntar e apagar os baldes de origem é uma transação só, então a leitura vê
+ * cada intervalo numa granularidade ou na outra, nunca nas duas.
+ * <p>
+ * Um lote por granularidade a cada execução: a thread de agendamento é a mesma
+ * do flush dos totais e não pode ficar presa num backlog grande.
+ */
+@Slf4j
+@Component
+public class CampaignRollupCompactor {
+
+    private final CampaignRollupStore rollupStore;
+    private final Duration minuteRetention;
+    private final Duration hourRetention;
+    private final int batchSize;
+
+    public CampaignRollupCompactor(CampaignRollupStore rollupStore,
+                                   @Value("${catarse.campaigns.analytics.minute-retention:6h}") Duration minuteRetention,
+                                   @Value("${catarse.campaigns.analytics.hour-retention:90d}") Duration hourRetention,
+                                   @Value("${catarse.campaigns.analytics.compaction-batch-size:2000}") int batchSize) {
+        this.rollupStore = rollupStore;
+        this.minuteRetention = minuteRetention;
+        this.hourRetention = hourRetention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${catarse.campaigns.analytics.compaction-interval-ms:10000}")
+    public void compact() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            compact(RollupGranularity.MINUTE, RollupGranularity.HOUR, now.minus(minuteRetention));
+            compact(RollupGranularity.HOUR, RollupGranularity.DAY, now.minus(hourRetention));
+        } catch (RuntimeException e) {
+            log.error("Failed to compact donation rollups", e);
+        }
+    }
+
+    // Só baldes de destino inteiros antes do corte: todos os de origem deles entram (em um ou mais lotes)
+    private void compact(RollupGranularity source, RollupGranularity target, LocalDateTime retainedFrom) {
+        LocalDateTime cutoff = target.truncate(retainedFrom);
+        int compacted = rollupStore.write(() -> {
+            List<RollupRow> rows = rollupStore.findOldest(source, cutoff, batchSize);
+            if (!rows.isEmpty()) {
+                rollupStore.merge(target, CampaignRollupStore.rollUp(rows, target));
+                rollupStore.delete(rows);
+            }
+            return rows.size();
+        });
+        if (compacted > 0) {
+            log.debug("Compacted {} {} rollups into {} buckets before {}", compacted, source, target, cutoff);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.catarse.engine.campaign.analytics;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Acesso JDBC à tabela {@code campaign_rollups}. Juntar num balde existente é
+ * ler, somar em memória (o HyperLogLog não se soma em SQL) e regravar. Vários
+ * nós gravam ao mesmo tempo: {@link #merge} garante a linha de cada balde com um
+ * insert que não faz nada se ela já existe e relê com {@code FOR UPDATE}, então
+ * duas transações no mesmo balde esperam uma pela outra em vez de uma apagar a
+ * soma da outra. A compactação pega os baldes com {@code SKIP LOCKED}.
+ */
+@Component
+public class CampaignRollupStore {
+
+    private static final String COLUMNS =
+            "id, campaign_id, granularity, bucket_start, donations, amount_cents, min_cents, max_cents, "
+                    + "refunds, refunded_cents, donors";
+
+    private static final String LOCK_CAMPAIGN_SQL = "SELECT " + COLUMNS + " FROM campaign_rollups "
+            + "WHERE campaign_id = ? AND granularity = ? AND bucket_start >= ? AND bucket_start <= ? "
+            + "ORDER BY bucket_start FOR UPDATE";
+    // Uma faixa da chave única por granularidade
+    private static final String SELECT_RANGE_SQL = "SELECT " + COLUMNS + " FROM campaign_rollups "
+            + "WHERE campaign_id = ? AND granularity IN ('MINUTE', 'HOUR', 'DAY') "
+            + "AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start";
+    // Baldes que outra compactação já pegou ficam para ela
+    private static final String SELECT_OLDEST_SQL = "SELECT " + COLUMNS + " FROM campaign_rollups "
+            + "WHERE granularity = ? AND bucket_start < ? ORDER BY bucket_start LIMIT ? FOR UPDATE SKIP LOCKED";
+    // Balde vazio se ainda não existe; se existe, não muda nada
+    private static final String ENSURE_SQL = "INSERT INTO campaign_rollups (campaign_id, granularity, bucket_start, "
+            + "donations, amount_cents, min_cents, max_cents, refunds, refunded_cents, donors) "
+            + "VALUES (?, ?, ?, 0, 0, NULL, NULL, 0, 0, ?) ON DUPLICATE KEY UPDATE id = id";
+    private static final String UPDATE_SQL = "UPDATE campaign_rollups SET donations = ?, amount_cents = ?, "
+            + "min_cents = ?, max_cents = ?, refunds = ?, refunded_cents = ?, donors = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM campaign_rollups WHERE id = ?";
+
+    private static final RowMapper<RollupRow> ROW_MAPPER = (rs, rowNum) -> new RollupRow(
+            rs.getLong("id"),
+            rs.getLong("campaign_id"),
+            RollupGranularity.valueOf(rs.getString("granularity")),
+            rs.getTimestamp("bucket_start").toLocalDateTime(),
+            RollupAggregate.of(rs.getLong("donations"), rs.getLong("amount_cents"),
+                    rs.getObject("min_cents", Long.class), rs.getObject("max_cents", Long.class),
+                    rs.getLong("refunds"), rs.getLong("refunded_cents"), rs.getBytes("donors")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CampaignRollupStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Transação de escrita nos baldes; as linhas tocadas ficam travadas até o commit
+    public <T> T write(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    /**
+     * Soma os deltas nos baldes da granularidade, criando os que faltam; dentro
+     * de write(). Os deltas chegam em ordem de campanha e balde (TreeMap), a
+     * mesma ordem em que as linhas são travadas: duas transações não se
+     * bloqueiam em ordens cruzadas.
+     */
+    public void merge(RollupGranularity granularity, Map<RollupKey, RollupAggregate> deltas) {
+        byte[] noDonors = new RollupAggregate().donorsBytes();
+        jdbcTemplate.batchUpdate(ENSURE_SQL, deltas.keySet().stream()
+                .map(key -> new Object[]{key.campaignId(), granularity.name(), Timestamp.valueOf(key.bucketStart()),
+                        noDonors})
+                .toList());
+
+        Map<Long, List<RollupKey>> byCampaign = deltas.keySet().stream()
+                .collect(Collectors.groupingBy(RollupKey::campaignId, TreeMap::new, Collectors.toList()));
+        Map<RollupKey, RollupRow> locked = new HashMap<>();
+        byCampaign.forEach((campaignId, keys) -> {
+            LocalDateTime first = keys.stream().map(RollupKey::bucketStart).min(LocalDateTime::compareTo).orElseThrow();
+            LocalDateTime last = keys.stream().map(RollupKey::bucketStart).max(LocalDateTime::compareTo).orElseThrow();
+            jdbcTemplate.query(LOCK_CAMPAIGN_SQL, ROW_MAPPER, campaignId, granularity.name(),
+                            Timestamp.valueOf(first), Timestamp.valueOf(last))
+                    .forEach(row -> locked.put(new RollupKey(row.campaignId(), row.bucketStart()), row));
+        });
+
+        List<Object[]> updates = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            RollupRow row = locked.get(key);
+            if (row == null) {
+                // Não acontece: o insert acima já travou a linha até o commit
+                throw new IllegalStateException("Rollup bucket disappeared during merge: " + key);
+            }
+            RollupAggregate merged = row.aggregate();
+            merged.merge(delta);
+            updates.add(new Object[]{merged.donations(), merged.amountCents(), merged.minCents(),
+                    merged.maxCents(), merged.refunds(), merged.refundedCents(), merged.donorsBytes(), row.id()});
+        });
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+    }
+
+    // Baldes mais antigos de uma granularidade, para a compactação, travados até o fim de write()
+    public List<RollupRow> findOldest(RollupGranularity granularity, LocalDateTime before, int limit) {
+        return jdbcTemplate.query(SELECT_OLDEST_SQL, ROW_MAPPER, granularity.name(), Timestamp.valueOf(before), limit);
+    }
+
+    public void delete(Collection<RollupRow> rows) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, rows.stream().map(row -> new Object[]{row.id()}).toList());
+    }
+
+    // Baldes de qualquer granularidade que começam em [from, to), em ordem de início
+    public List<RollupRow> findRange(Long campaignId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SELECT_RANGE_SQL, ROW_MAPPER, campaignId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    // Agrupa por balde de destino, para gravar com merge()
+    public static Map<RollupKey, RollupAggregate> rollUp(Collection<RollupRow> rows, RollupGranularity target) {
+        Map<RollupKey, RollupAggregate> merged = new TreeMap<>();
+        for (RollupRow row : rows) {
+            merged.computeIfAbsent(new RollupKey(row.campaignId(), target.truncate(row.bucketStart())),
+                    key -> new RollupAggregate()).merge(row.aggregate());
+        }
+        return merged;
+    }
+
+    public record RollupKey(Long campaignId, LocalDateTime bucketStart) implements Comparable<RollupKey> {
+
+        @Override
+        public int compareTo(RollupKey other) {
+            int byCampaign = campaignId.compareTo(other.campaignId);
+            return byCampaign != 0 ? byCampaign : bucketStart.compareTo(other.bucketStart);
+        }
+    }
+
+    public record RollupRow(Long id, Long campaignId, RollupGranularity granularity, LocalDateTime bucketStart,
+                            RollupAggregate aggregate) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.catarse.engine.campaign.analytics;
+
+/**
+ * Agregado de um balde: doações aprovadas (quantidade, soma, menor e maior em
+ * centavos, doadores distintos) e estornos. Tudo se junta somando ou pegando
+ * mín/máx, então baldes menores compõem os maiores sem voltar às doações.
+ * <p>
+ * Estorno entra no balde da hora do estorno e não desfaz mín/máx nem doadores:
+ * esses descrevem as aprovações, o líquido é {@code amountCents - refundedCents}.
+ */
+public final class RollupAggregate {
+
+    private long donations;
+    private long amountCents;
+    // Sem significado enquanto donations == 0
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+    private long refunds;
+    private long refundedCents;
+    private final HyperLogLog donors;
+
+    public RollupAggregate() {
+        this(new HyperLogLog());
+    }
+
+    private RollupAggregate(HyperLogLog donors) {
+        this.donors = donors;
+    }
+
+    // Linha gravada; min/max nulos quando o balde só tem estornos
+    static RollupAggregate of(long donations, long amountCents, Long minCents, Long maxCents,
+                              long refunds, long refundedCents, byte[] donors) {
+        RollupAggregate aggregate = new RollupAggregate(HyperLogLog.fromBytes(donors));
+        aggregate.donations = donations;
+        aggregate.amountCents = amountCents;
+        if (donations > 0 && minCents != null && maxCents != null) {
+            aggregate.minCents = minCents;
+            aggregate.maxCents = maxCents;
+        }
+        aggregate.refunds = refunds;
+        aggregate.refundedCents = refundedCents;
+        return aggregate;
+    }
+
+    public void addDonation(long donorId, long cents) {
+        donations++;
+        amountCents = Math.addExact(amountCents, cents);
+        minCents = Math.min(minCents, cents);
+        maxCents = Math.max(maxCents, cents);
+        donors.add(donorId);
+    }
+
+    public void addRefund(long cents) {
+        refunds++;
+        refundedCents = Math.addExact(refundedCents, cents);
+    }
+
+    public void merge(RollupAggregate other) {
+        donations += other.donations;
+        amountCents = Math.addExact(amountCents, other.amountCents);
+        minCents = Math.min(minCents, other.minCents);
+        maxCents = Math.max(maxCents, other.maxCents);
+        refunds += other.refunds;
+        refundedCents = Math.addExact(refundedCents, other.refundedCents);
+        donors.merge(other.donors);
+    }
+
+    public long donations() {
+        return donations;
+    }
+
+    public long amountCents() {
+        return amountCents;
+    }
+
+    public Long minCents() {
+        return donations == 0 ? null : minCents;
+    }
+
+    public Long maxCents() {
+        return donations == 0 ? null : maxCents;
+    }
+
+    // Ticket médio arredondado para o centavo mais próximo; null sem doações
+    public Long averageCents() {
+        return donations == 0 ? null : Math.round((double) amountCents / donations);
+    }
+
+    public long refunds() {
+        return refunds;
+    }
+
+    public long refundedCents() {
+        return refundedCents;
+    }
+
+    // Estimativa, nunca acima do número de doações
+    public long distinctDonors() {
+        return Math.min(donations, donors.estimate());
+    }
+
+    byte[] donorsBytes() {
+        return donors.toBytes();
+    }
+}
@@ -0,0 +1,42 @@
+package com.catarse.engine.campaign.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Tamanho do balde; a compactação leva minuto para hora e hora para dia
+public enum RollupGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime truncate(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public LocalDateTime end(LocalDateTime bucketStart) {
+        return bucketStart.plus(1, unit);
+    }
+
+    public Duration duration() {
+        return unit.getDuration();
+    }
+
+    public boolean isFinerThan(RollupGranularity other) {
+        return ordinal() < other.ordinal();
+    }
+
+    public static RollupGranularity from(String value) {
+        try {
+            return valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid granularity: " + value + " (use minute, hour or day)");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.catarse.engine.campaign.cache;
+
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Invalidação direcionada das regiões de campanha: remove só a campanha
+ * alterada e as páginas da listagem em que ela aparece.
+ */
+@Component
+public class CampaignCache {
+
+    private final Cache campaigns;
+    private final Cache campaignPages;
+
+    public CampaignCache(CacheManager cacheManager) {
+        this.campaigns = Objects.requireNonNull(cacheManager.getCache(CacheConfig.CAMPAIGNS));
+        this.campaignPages = Objects.requireNonNull(cacheManager.getCache(CacheConfig.CAMPAIGN_PAGES));
+    }
+
+    // Leitura direta da região, sem carregar do banco em caso de ausência
+    public CampaignResponse get(Long campaignId) {
+        return campaigns.get(campaignId, CampaignResponse.class);
+    }
+
+    // Várias campanhas numa consulta ao Caffeine; só as presentes voltam no mapa
+    @SuppressWarnings("unchecked")
+    public Map<Long, CampaignResponse> getAll(Collection<Long> campaignIds) {
+        return (Map<Long, CampaignResponse>) (Map<?, ?>) ((com.github.benmanes.caffeine.cache.Cache<Object, Object>)
+                campaigns.getNativeCache()).getAllPresent(campaignIds);
+    }
+
+    public void putAll(Collection<CampaignResponse> responses) {
+        responses.forEach(response -> campaigns.put(response.getId(), response));
+    }
+
+    public void evict(Long campaignId) {
+        campaigns.evict(campaignId);
+    }
+
+    public void evictAll(Collection<Long> campaignIds) {
+        campaignIds.forEach(campaigns::evict);
+    }
+
+    // Alteração que não muda quem está na listagem (ex.: título, meta)
+    public void evictWithPages(Long campaignId) {
+        campaigns.evict(campaignId);
+        pageKeysContaining(campaignId).forEach(campaignPages::evict);
+    }
+
+    // Campanha entrou ou saiu da listagem de ativas: todas as páginas deslocam
+    public void evictAllPages() {
+        campaignPages.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> pageKeysContaining(Long campaignId) {
+        Map<Object, Object> pages = ((com.github.benmanes.caffeine.cache.Cache<Object, Object>)
+                campaignPages.getNativeCache()).asMap();
+        List<Object> keys = new ArrayList<>();
+        pages.forEach((key, value) -> {
+            if (value instanceof Page<?> page && page.getContent().stream()
+                    .anyMatch(item -> campaignId.equals(idOf(item)))) {
+                keys.add(key);
+            }
+        });
+        return keys;
+    }
+
+    private static Long idOf(Object item) {
+        if (item instanceof CampaignResponse response) {
+            return response.getId();
+        }
+        if (item instanceof CampaignSummaryResponse summary) {
+            return summary.getId();
+        }
+        return null;
+    }
+}
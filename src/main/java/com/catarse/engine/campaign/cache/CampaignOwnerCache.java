@@ -0,0 +1,40 @@
+package com.catarse.engine.campaign.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dono de cada campanha (id → userId). O dono nunca muda, então a entrada só
+ * sai na exclusão ou por tamanho; permite recusar com 403 sem ir ao banco.
+ */
+@Component
+public class CampaignOwnerCache {
+
+    private final Cache<Long, Long> owners;
+
+    public CampaignOwnerCache(@Value("${catarse.cache.campaign-owners.maximum-size:100000}") long maximumSize) {
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    // null quando o dono ainda não é conhecido
+    public Long ownerOf(Long campaignId) {
+        return owners.getIfPresent(campaignId);
+    }
+
+    public void put(Long campaignId, Long ownerId) {
+        owners.put(campaignId, ownerId);
+    }
+
+    public void evict(Long campaignId) {
+        owners.invalidate(campaignId);
+    }
+
+    public Cache<Long, Long> cache() {
+        return owners;
+    }
+}
@@ -1,14 +1,35 @@
 package com.catarse.engine.campaign.controller;
 
+import com.catarse.engine.campaign.analytics.RollupGranularity;
 import com.catarse.engine.campaign.dto.request.CampaignRequest;
+import com.catarse.engine.campaign.dto.response.CampaignAnalyticsResponse;
+import com.catarse.engine.campaign.dto.response.CampaignBatchResponse;
 import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.dto.response.CursorPageResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.live.CampaignProgressHub;
 import com.catarse.engine.campaign.service.CampaignService;
+import com.catarse.engine.export.ExportFormat;
+import com.catarse.engine.export.ExportResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 import jakarta.validation.Valid;  // ← Tem que estar aqui!
 
 @RestController
@@ -16,7 +37,22 @@ import jakarta.validation.Valid;  // ← Tem que estar aqui!
 @RequiredArgsConstructor
 public class CampaignController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
     private final CampaignService campaignService;
+    private final CampaignProgressHub campaignProgressHub;
+
+    // Leituras públicas podem ficar num CDN; o ETag revalida barato depois do max-age
+    @Value("${catarse.campaigns.http.max-age:10s}")
+    private Duration maxAge;
+
+    @Value("${catarse.campaigns.http.page-max-age:5s}")
+    private Duration pageMaxAge;
+
+    @Value("${catarse.campaigns.http.stale-while-revalidate:30s}")
+    private Duration staleWhileRevalidate;
 
     @PostMapping
     public ResponseEntity<CampaignResponse> createCampaign(
@@ -26,18 +62,54 @@ public class CampaignController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Leitura pública: userId só vem quando há token.
+    // If-None-Match / If-Modified-Since iguais viram 304 sem corpo (HttpEntityMethodProcessor)
     @GetMapping("/{id}")
     public ResponseEntity<CampaignResponse> getCampaignById(
             @PathVariable Long id,
-            @RequestAttribute("userId") Long userId) {
+            @RequestAttribute(value = "userId", required = false) Long userId) {
         CampaignResponse response = campaignService.getCampaignById(id, userId);
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(CampaignETags.of(response))
+                .cacheControl(publicCache(maxAge));
+        if (response.getUpdatedAt() != null) {
+            builder.lastModified(response.getUpdatedAt().atZone(ZoneId.systemDefault()));
+        }
+        return builder.body(response);
+    }
+
+    // Várias campanhas numa chamada (cards): ?ids=1,2,3 (máximo 100), na ordem pedida
+    @GetMapping("/batch")
+    public ResponseEntity<CampaignBatchResponse> getCampaignsByIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("ids must have between 1 and " + MAX_BATCH_SIZE + " elements");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("ids must not contain empty values");
+        }
+        return ResponseEntity.ok(campaignService.getCampaignsByIds(ids));
+    }
+
+    // Progresso ao vivo (SSE): evento "progress" a cada mudança do total, "ended" quando a campanha encerra
+    @GetMapping(value = "/{id}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProgress(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                // Proxy reverso (nginx) não deve segurar os eventos em buffer
+                .header("X-Accel-Buffering", "no")
+                .body(campaignProgressHub.subscribe(id));
     }
 
     @GetMapping
     public ResponseEntity<Page<CampaignResponse>> getAllActiveCampaigns(Pageable pageable) {
         Page<CampaignResponse> campaigns = campaignService.getAllActiveCampaigns(pageable);
-        return ResponseEntity.ok(campaigns);
+        return pageResponse(campaigns);
+    }
+
+    // Listagem enxuta para cards (sem descrição)
+    @GetMapping("/summary")
+    public ResponseEntity<Page<CampaignSummaryResponse>> getActiveCampaignSummaries(Pageable pageable) {
+        Page<CampaignSummaryResponse> campaigns = campaignService.getActiveCampaignSummaries(pageable);
+        return pageResponse(campaigns);
     }
 
     @GetMapping("/user/{userId}")
@@ -45,9 +117,93 @@ public class CampaignController {
             @PathVariable Long userId,
             Pageable pageable) {
         Page<CampaignResponse> campaigns = campaignService.getCampaignsByUser(userId, pageable);
+        return pageResponse(campaigns);
+    }
+
+    // Gráficos do dono: doações por balde; ?granularity=minute|hour|day&from=&to= (data-hora ISO, opcionais)
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<CampaignAnalyticsResponse> getCampaignAnalytics(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "hour") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestAttribute("userId") Long userId) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(campaignService.getCampaignAnalytics(id, RollupGranularity.from(granularity), from, to, userId));
+    }
+
+    // Paginação por cursor: ?cursor=<nextCursor da resposta anterior>
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<CampaignResponse>> scrollActiveCampaigns(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<CampaignResponse> campaigns =
+                campaignService.scrollActiveCampaigns(cursor, clampPageSize(size), includeTotal);
+        return ResponseEntity.ok(campaigns);
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<CursorPageResponse<CampaignResponse>> scrollCampaignsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<CampaignResponse> campaigns =
+                campaignService.scrollCampaignsByUser(userId, cursor, clampPageSize(size), includeTotal);
         return ResponseEntity.ok(campaigns);
     }
 
+    // Rankings: ?limit=N (padrão 10, máximo 100)
+    @GetMapping("/ranking/closest-to-goal")
+    public ResponseEntity<List<CampaignSummaryResponse>> getClosestToGoal(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean includeReached) {
+        return ResponseEntity.ok(campaignService.getClosestToGoal(clampPageSize(limit), includeReached));
+    }
+
+    @GetMapping("/ranking/trending")
+    public ResponseEntity<List<CampaignSummaryResponse>> getTrendingCampaigns(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(campaignService.getTrendingCampaigns(clampPageSize(limit)));
+    }
+
+    @GetMapping("/ranking/ending-soon")
+    public ResponseEntity<List<CampaignSummaryResponse>> getCampaignsEndingSoon(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(campaignService.getCampaignsEndingSoon(clampPageSize(limit)));
+    }
+
+    // Busca por palavras do título/descrição, acentos ignorados; ?q=texto&limit=N (padrão 20, máximo 100)
+    @GetMapping("/search")
+    public ResponseEntity<List<CampaignSummaryResponse>> searchCampaigns(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("q must have between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        return ResponseEntity.ok(campaignService.searchCampaigns(q, clampPageSize(limit)));
+    }
+
+    // Exportação completa em streaming: ?format=ndjson|csv&status=&from=&to=(datas de criação)&gzip=true
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCampaigns(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        CampaignStatus campaignStatus = parseStatus(status);
+        return ExportResponses.stream("campaigns", exportFormat, gzip, out -> campaignService.exportCampaigns(
+                campaignStatus,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                exportFormat,
+                out));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<CampaignResponse> updateCampaign(
             @PathVariable Long id,
@@ -73,4 +229,31 @@ public class CampaignController {
         CampaignResponse response = campaignService.updateCampaignStatus(id, status, userId);
         return ResponseEntity.ok(response);
     }
+
+    private static CampaignStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return CampaignStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    // Páginas só com ETag: uma campanha que sai da página não deixaria rastro num Last-Modified
+    private <T> ResponseEntity<Page<T>> pageResponse(Page<T> page) {
+        return ResponseEntity.ok()
+                .eTag(CampaignETags.of(page))
+                .cacheControl(publicCache(pageMaxAge))
+                .body(page);
+    }
+
+    private CacheControl publicCache(Duration age) {
+        return CacheControl.maxAge(age).cachePublic().staleWhileRevalidate(staleWhileRevalidate);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    }
 }
\ No newline at end of file
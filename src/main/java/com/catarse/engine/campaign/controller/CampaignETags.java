@@ -0,0 +1,51 @@
+package com.catarse.engine.campaign.controller;
+
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import org.springframework.data.domain.Page;
+
+import java.time.ZoneId;
+
+/**
+ * ETags fortes das leituras de campanha, calculados a partir da resposta já
+ * montada (normalmente vinda do cache), sem serializar o corpo. A campanha
+ * muda de versão a cada alteração; o total arrecadado não mexe na versão,
+ * mas avança {@code updatedAt} a cada flush do acumulador, e entra direto.
+ */
+final class CampaignETags {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private CampaignETags() {
+    }
+
+    static String of(CampaignResponse campaign) {
+        return campaign.getId() + "-" + campaign.getVersion() + "-" + Long.toHexString(fingerprint(campaign));
+    }
+
+    // Página: número, tamanho, total e cada item, na ordem
+    static String of(Page<?> page) {
+        long hash = mix(mix(mix(GOLDEN, page.getNumber()), page.getSize()), page.getTotalElements());
+        for (Object item : page.getContent()) {
+            hash = mix(hash, item instanceof CampaignResponse campaign ? fingerprint(campaign) : item.hashCode());
+        }
+        return Long.toHexString(finish(hash));
+    }
+
+    private static long fingerprint(CampaignResponse campaign) {
+        long updatedAt = campaign.getUpdatedAt() == null ? 0L
+                : campaign.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return finish(mix(mix(mix(mix(GOLDEN, campaign.getId()), campaign.getVersion()), updatedAt),
+                campaign.getCurrentAmount().cents()));
+    }
+
+    private static long mix(long hash, long value) {
+        return Long.rotateLeft(hash ^ value * GOLDEN, 31) * 0xBF58476D1CE4E5B9L;
+    }
+
+    // Finalizador do SplitMix64: espalha os bits para o hex não repetir prefixos
+    private static long finish(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,11 @@
+package com.catarse.engine.campaign.dto.projection;
+
+import java.time.LocalDateTime;
+
+// Projeção mínima para montar a agenda de encerramento sem carregar a entidade
+public interface CampaignDeadline {
+
+    Long getId();
+
+    LocalDateTime getEndDate();
+}
@@ -0,0 +1,11 @@
+package com.catarse.engine.campaign.dto.projection;
+
+// Texto pesquisável da campanha, para carregar o índice de busca sem a entidade
+public interface CampaignSearchDocument {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
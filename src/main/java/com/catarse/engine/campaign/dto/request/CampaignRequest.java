@@ -17,6 +17,7 @@ public class CampaignRequest {
 
     @NotNull(message = "Goal amount is required")
     @DecimalMin(value = "50.00", message = "Goal amount must be at least R$ 50,00")
+    @Digits(integer = 16, fraction = 2, message = "Goal amount must have at most 2 decimal places")
     private BigDecimal goalAmount;
 
     @NotNull(message = "Start date is required")
@@ -26,4 +27,7 @@ public class CampaignRequest {
     @NotNull(message = "End date is required")
     @Future(message = "End date must be in the future")
     private LocalDateTime endDate;
+
+    // Opcional: versão lida pelo cliente; se outra alteração entrou antes, responde 409
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.catarse.engine.campaign.dto.response;
+
+import com.catarse.engine.campaign.analytics.RollupGranularity;
+import com.catarse.engine.money.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Um ponto do gráfico (ou os totais do intervalo, sem início nem granularidade)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CampaignAnalyticsBucketResponse {
+    private LocalDateTime bucketStart;
+    // Mais grossa que a pedida quando o período já foi compactado
+    private RollupGranularity granularity;
+    private long donations;
+    private Money amount;
+    private Money averageTicket;
+    private Money minAmount;
+    private Money maxAmount;
+    // Estimativa (HyperLogLog), erro típico de ~1,6%
+    private long distinctDonors;
+    private long refunds;
+    private Money refundedAmount;
+}
@@ -0,0 +1,22 @@
+package com.catarse.engine.campaign.dto.response;
+
+import com.catarse.engine.campaign.analytics.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignAnalyticsResponse {
+    private Long campaignId;
+    private RollupGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private CampaignAnalyticsBucketResponse totals;
+    // Só baldes com movimento, em ordem de início
+    private List<CampaignAnalyticsBucketResponse> buckets;
+}
@@ -0,0 +1,17 @@
+package com.catarse.engine.campaign.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CampaignBatchResponse {
+    // Na ordem dos ids pedidos; null na posição de id inexistente
+    private List<CampaignSummaryResponse> campaigns;
+    // Omitido quando todos existem
+    private List<Long> notFound;
+}
@@ -0,0 +1,21 @@
+package com.catarse.engine.campaign.dto.response;
+
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Mensagem do canal ao vivo: só o que a barra de progresso precisa
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignProgressResponse {
+    private Long id;
+    private Money goalAmount;
+    private Money currentAmount;
+    private CampaignStatus status;
+    private LocalDateTime goalReachedAt;
+}
@@ -1,21 +1,29 @@
 package com.catarse.engine.campaign.dto.response;
 
 import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
-import java.math.BigDecimal;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class CampaignResponse {
     private Long id;
     private String title;
     private String description;
-    private BigDecimal goalAmount;
-    private BigDecimal currentAmount;
+    private Money goalAmount;
+    private Money currentAmount;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
     private CampaignStatus status;
     private Long userId;
+    private LocalDateTime goalReachedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.catarse.engine.campaign.dto.response;
+
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Card da listagem: sem descrição; preenchido direto pela query (projeção por construtor)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignSummaryResponse {
+    private Long id;
+    private String title;
+    private Money goalAmount;
+    private Money currentAmount;
+    private LocalDateTime endDate;
+    private CampaignStatus status;
+    private Long userId;
+    private LocalDateTime goalReachedAt;
+}
@@ -1,16 +1,20 @@
 package com.catarse.engine.campaign.entity;
 
+import com.catarse.engine.money.Money;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "campaigns")
+@Table(name = "campaigns", indexes = {
+        @Index(name = "idx_campaigns_status_end_date_id", columnList = "status, end_date, id"),
+        @Index(name = "idx_campaigns_user_id_id", columnList = "user_id, id")
+})
 @Data
 @NoArgsConstructor
 public class Campaign {
@@ -25,11 +29,11 @@ public class Campaign {
     @Column(length = 500)
     private String description;
 
-    @Column(name = "goal_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal goalAmount;
+    @Column(name = "goal_amount", nullable = false, precision = 18, scale = 2)
+    private Money goalAmount;
 
-    @Column(name = "current_amount", precision = 10, scale = 2)
-    private BigDecimal currentAmount = BigDecimal.ZERO;
+    @Column(name = "current_amount", precision = 18, scale = 2)
+    private Money currentAmount = Money.ZERO;
 
     @Column(name = "start_date", nullable = false)
     private LocalDateTime startDate;
@@ -44,6 +48,16 @@ public class Campaign {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    // Controle otimista; os UPDATEs em lote do repositório também incrementam
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    // Momento em que o total alcançou a meta pela primeira vez
+    @Column(name = "goal_reached_at")
+    private LocalDateTime goalReachedAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
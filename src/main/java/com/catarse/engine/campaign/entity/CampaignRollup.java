@@ -0,0 +1,65 @@
+package com.catarse.engine.campaign.entity;
+
+import com.catarse.engine.campaign.analytics.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Balde de doações de uma campanha (minuto, hora ou dia). Só define o esquema:
+ * a escrita e a leitura ({@code CampaignRollupStore}) usam JDBC direto.
+ * <p>
+ * A chave única é campanha, granularidade e início do balde: o merge trava uma
+ * faixa contínua de uma granularidade, e o endpoint de analytics lê uma faixa
+ * por granularidade. O índice por granularidade serve à compactação.
+ */
+@Entity
+@Table(name = "campaign_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_campaign_rollups_campaign_granularity_bucket",
+                columnNames = {"campaign_id", "granularity", "bucket_start"})
+}, indexes = {
+        @Index(name = "idx_campaign_rollups_granularity", columnList = "granularity, bucket_start")
+})
+@Data
+@NoArgsConstructor
+public class CampaignRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long donations;
+
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+
+    // Nulos quando o balde só tem estornos
+    @Column(name = "min_cents")
+    private Long minCents;
+
+    @Column(name = "max_cents")
+    private Long maxCents;
+
+    @Column(nullable = false)
+    private long refunds;
+
+    @Column(name = "refunded_cents", nullable = false)
+    private long refundedCents;
+
+    // HyperLogLog serializado: até 4097 bytes no formato denso
+    @Column(nullable = false, length = 4200)
+    private byte[] donors;
+}
@@ -0,0 +1,205 @@
+package com.catarse.engine.campaign.lifecycle;
+
+import com.catarse.engine.campaign.cache.CampaignCache;
+import com.catarse.engine.campaign.dto.projection.CampaignDeadline;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
+import com.catarse.engine.campaign.repository.CampaignRepository;
+import com.catarse.engine.campaign.search.CampaignSearchIndex;
+import com.catarse.engine.donation.accumulator.CampaignTotalAccumulator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Agenda em memória dos prazos das campanhas ACTIVE. Uma thread dorme até o
+ * próximo vencimento e encerra em lote as campanhas vencidas (COMPLETED se
+ * bateram a meta, CANCELLED se não), sem varrer a tabela.
+ * <p>
+ * Mudanças de prazo ou status só registram um novo prazo; a entrada antiga
+ * continua na fila e é ignorada quando vence. O UPDATE confere status e
+ * end_date, então uma entrada velha nunca encerra campanha errada.
+ */
+@Slf4j
+@Component
+public class CampaignLifecycleScheduler implements SmartLifecycle {
+
+    private static final int MAX_BATCH = 500;
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignTotalAccumulator campaignTotalAccumulator;
+    private final CampaignCache campaignCache;
+    private final CampaignRankingIndex campaignRankingIndex;
+    private final CampaignSearchIndex campaignSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    private final ConcurrentHashMap<Long, Deadline> current = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public CampaignLifecycleScheduler(CampaignRepository campaignRepository,
+                                      CampaignTotalAccumulator campaignTotalAccumulator,
+                                      CampaignCache campaignCache,
+                                      CampaignRankingIndex campaignRankingIndex,
+                                      CampaignSearchIndex campaignSearchIndex,
+                                      PlatformTransactionManager transactionManager) {
+        this.campaignRepository = campaignRepository;
+        this.campaignTotalAccumulator = campaignTotalAccumulator;
+        this.campaignCache = campaignCache;
+        this.campaignRankingIndex = campaignRankingIndex;
+        this.campaignSearchIndex = campaignSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Campanha ficou ACTIVE ou mudou de prazo
+    public void track(Long campaignId, LocalDateTime endDate) {
+        Deadline deadline = new Deadline(campaignId, endDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        current.put(campaignId, deadline);
+        queue.add(deadline);
+    }
+
+    // Campanha saiu de ACTIVE ou foi removida; true se ela estava na agenda (ou seja, ACTIVE)
+    public boolean untrack(Long campaignId) {
+        return current.remove(campaignId) != null;
+    }
+
+    public boolean isTracked(Long campaignId) {
+        return current.containsKey(campaignId);
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    private void runLoop() {
+        List<Deadline> expired = new ArrayList<>();
+        while (running) {
+            try {
+                Deadline first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                expired.add(first);
+                queue.drainTo(expired, MAX_BATCH - 1);
+
+                List<Long> ids = new ArrayList<>(expired.size());
+                for (Deadline deadline : expired) {
+                    // Só a entrada mais recente da campanha vale
+                    if (current.remove(deadline.campaignId(), deadline)) {
+                        ids.add(deadline.campaignId());
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    close(ids);
+                }
+            } catch (InterruptedException e) {
+                Thread.interrupted();
+            } catch (RuntimeException e) {
+                log.error("Failed to close {} expired campaigns, retrying", expired.size(), e);
+                expired.forEach(deadline -> {
+                    current.putIfAbsent(deadline.campaignId(), deadline);
+                    queue.add(deadline);
+                });
+                sleepQuietly();
+            } finally {
+                expired.clear();
+            }
+        }
+    }
+
+    private void close(List<Long> ids) {
+        // Doações já aprovadas entram no total antes de decidir entre COMPLETED e CANCELLED
+        campaignTotalAccumulator.flush();
+
+        Integer closed = transactionTemplate.execute(status ->
+                campaignRepository.closeExpired(ids, LocalDateTime.now()));
+        campaignRankingIndex.removeAll(ids);
+        campaignSearchIndex.removeAll(ids);
+        campaignCache.evictAll(ids);
+        campaignCache.evictAllPages();
+        log.info("Closed {} expired campaigns", closed);
+    }
+
+    // Lê do primário (transação não read-only): réplica atrasada deixaria prazos de fora da agenda
+    private void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CampaignDeadline> deadlines =
+                         campaignRepository.streamDeadlinesByStatus(CampaignStatus.ACTIVE)) {
+                deadlines.forEach(deadline -> track(deadline.getId(), deadline.getEndDate()));
+            }
+        });
+        log.info("Campaign lifecycle scheduler tracking {} active campaigns", current.size());
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.SECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+        }
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+        worker = Thread.ofPlatform().name("campaign-lifecycle").daemon().start(this::runLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Depois do acumulador (fase 0), que precisa estar de pé para o flush antes do encerramento
+    @Override
+    public int getPhase() {
+        return 50;
+    }
+
+    // Igualdade por identidade: duas entradas com o mesmo prazo continuam distintas
+    private static final class Deadline implements Delayed {
+
+        private final Long campaignId;
+        private final long endAtMillis;
+
+        private Deadline(Long campaignId, long endAtMillis) {
+            this.campaignId = campaignId;
+            this.endAtMillis = endAtMillis;
+        }
+
+        private Long campaignId() {
+            return campaignId;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(endAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(endAtMillis, ((Deadline) other).endAtMillis);
+        }
+    }
+}
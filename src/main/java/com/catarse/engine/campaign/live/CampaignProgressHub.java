@@ -0,0 +1,330 @@
+package com.catarse.engine.campaign.live;
+
+import com.catarse.engine.campaign.dto.response.CampaignProgressResponse;
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
+import com.catarse.engine.campaign.service.CampaignService;
+import com.catarse.engine.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Progresso das campanhas ao vivo por Server-Sent Events. A cada tick, para
+ * cada campanha com inscritos, compara a foto do {@link CampaignRankingIndex}
+ * (que acompanha o acumulador, pendentes incluídos) com a última enviada: no
+ * máximo uma mensagem por campanha por tick, serializada uma vez só. O que
+ * outro nó somou ou encerrou chega com a releitura periódica daquele índice
+ * ({@code CampaignIndexResync}).
+ * <p>
+ * Cada inscrito tem um buffer de uma posição: mensagem nova substitui a que
+ * ainda não foi escrita (só o total mais recente interessa) e conta como
+ * descartada. A escrita roda numa virtual thread apenas enquanto há algo a
+ * enviar; conexão parada não segura thread nenhuma.
+ */
+@Slf4j
+@Component
+public class CampaignProgressHub implements SmartLifecycle {
+
+    private static final String PROGRESS_EVENT = "progress";
+    // Campanha encerrada: o cliente deve fechar o EventSource em vez de reconectar
+    private static final String ENDED_EVENT = "ended";
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keepalive").build();
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final CampaignRankingIndex campaignRankingIndex;
+    private final CampaignService campaignService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final long heartbeatNanos;
+    private final int maxSubscribers;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter droppedCounter;
+    private final Counter sentCounter;
+
+    private ExecutorService writers;
+    private volatile boolean running;
+
+    public CampaignProgressHub(CampaignRankingIndex campaignRankingIndex,
+                               CampaignService campaignService,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${catarse.campaigns.live.timeout:30m}") Duration timeout,
+                               @Value("${catarse.campaigns.live.heartbeat-interval:15s}") Duration heartbeat,
+                               @Value("${catarse.campaigns.live.max-subscribers:10000}") int maxSubscribers) {
+        this.campaignRankingIndex = campaignRankingIndex;
+        this.campaignService = campaignService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeout.toMillis();
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.maxSubscribers = maxSubscribers;
+
+        Gauge.builder("campaigns.live.subscribers", subscribers, AtomicInteger::get)
+                .description("Open progress streams on this node")
+                .register(meterRegistry);
+        Gauge.builder("campaigns.live.channels", channels, ConcurrentHashMap::size)
+                .description("Campaigns with at least one open progress stream")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("campaigns.live.dropped")
+                .description("Progress messages replaced by a newer one before being written")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("campaigns.live.sent")
+                .description("Progress messages written to subscribers")
+                .register(meterRegistry);
+    }
+
+    // Primeira mensagem é o estado atual; 404 sai antes de abrir o stream
+    public SseEmitter subscribe(Long campaignId) {
+        if (!running) {
+            throw new ServiceUnavailableException("Live progress is not running", RETRY_AFTER_SECONDS);
+        }
+        CampaignProgressResponse current = snapshot(campaignId);
+        if (current == null) {
+            current = toProgress(campaignService.getCampaignById(campaignId, null));
+        }
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ServiceUnavailableException("Too many live progress subscribers", RETRY_AFTER_SECONDS);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        if (isEnded(current.getStatus())) {
+            subscribers.decrementAndGet();
+            Subscriber once = new Subscriber(null, emitter);
+            once.offer(frame(ENDED_EVENT, current));
+            once.completeAfterDrain();
+            return emitter;
+        }
+
+        Subscriber subscriber = new Subscriber(campaignId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        CampaignProgressResponse initial = current;
+        channels.compute(campaignId, (id, channel) -> {
+            if (channel == null) {
+                // Canal novo parte do estado que o inscrito recebe agora: o tick não repete a mensagem
+                channel = new Channel();
+                channel.last = initial;
+                channel.live = initial.getStatus() == CampaignStatus.ACTIVE;
+            }
+            channel.subscribers.add(subscriber);
+            return channel;
+        });
+        subscriber.offer(frame(PROGRESS_EVENT, current));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${catarse.campaigns.live.tick-ms:1000}")
+    public void tick() {
+        long now = System.nanoTime();
+        channels.forEach((campaignId, channel) -> {
+            if (channel.subscribers.isEmpty()) {
+                channels.computeIfPresent(campaignId, (id, current) -> current.subscribers.isEmpty() ? null : current);
+                return;
+            }
+            try {
+                publish(campaignId, channel, now);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish live progress for campaign {}", campaignId, e);
+            }
+        });
+    }
+
+    private void publish(Long campaignId, Channel channel, long now) {
+        CampaignProgressResponse current = snapshot(campaignId);
+        if (current == null) {
+            if (channel.live) {
+                // Saiu do índice: encerrada, cancelada ou voltou a rascunho; uma leitura para o estado final
+                channel.live = false;
+                current = toProgress(campaignService.getCampaignById(campaignId, null));
+                boolean ended = isEnded(current.getStatus());
+                broadcast(channel, frame(ended ? ENDED_EVENT : PROGRESS_EVENT, current), now);
+                channel.last = current;
+                if (ended) {
+                    channel.subscribers.forEach(Subscriber::completeAfterDrain);
+                }
+                return;
+            }
+        } else {
+            channel.live = true;
+            if (!current.equals(channel.last)) {
+                channel.last = current;
+                broadcast(channel, frame(PROGRESS_EVENT, current), now);
+                return;
+            }
+        }
+        if (now - channel.lastSentAt >= heartbeatNanos) {
+            channel.lastSentAt = now;
+            channel.subscribers.forEach(subscriber -> subscriber.offerIfIdle(HEARTBEAT));
+        }
+    }
+
+    private void broadcast(Channel channel, Set<DataWithMediaType> frame, long now) {
+        channel.lastSentAt = now;
+        channel.subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private CampaignProgressResponse snapshot(Long campaignId) {
+        CampaignSummaryResponse summary = campaignRankingIndex.get(campaignId);
+        return summary == null ? null : new CampaignProgressResponse(summary.getId(), summary.getGoalAmount(),
+                summary.getCurrentAmount(), summary.getStatus(), summary.getGoalReachedAt());
+    }
+
+    private static CampaignProgressResponse toProgress(CampaignResponse campaign) {
+        return new CampaignProgressResponse(campaign.getId(), campaign.getGoalAmount(), campaign.getCurrentAmount(),
+                campaign.getStatus(), campaign.getGoalReachedAt());
+    }
+
+    private static boolean isEnded(CampaignStatus status) {
+        return status == CampaignStatus.COMPLETED || status == CampaignStatus.CANCELLED;
+    }
+
+    // Serializa uma vez; o mesmo frame vai para todos os inscritos da campanha
+    private Set<DataWithMediaType> frame(String name, CampaignProgressResponse progress) {
+        try {
+            return SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(progress))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        Channel channel = channels.get(subscriber.campaignId);
+        if (channel != null && channel.subscribers.remove(subscriber)) {
+            subscribers.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void start() {
+        writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("campaign-live-", 0).factory());
+        running = true;
+    }
+
+    // Fecha os streams para o shutdown do servidor não esperar pelo timeout deles
+    @Override
+    public void stop() {
+        running = false;
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+        subscribers.set(0);
+        writers.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Para antes do desligamento gracioso do servidor web (DEFAULT_PHASE - 1024), que esperaria os streams abertos
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private volatile CampaignProgressResponse last;
+        private volatile boolean live;
+        private volatile long lastSentAt = System.nanoTime();
+    }
+
+    private final class Subscriber {
+        private final Long campaignId;
+        private final SseEmitter emitter;
+        // Buffer de uma posição: só o estado mais recente
+        private final AtomicReference<Set<DataWithMediaType>> pending = new AtomicReference<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean completeWhenDrained;
+
+        private Subscriber(Long campaignId, SseEmitter emitter) {
+            this.campaignId = campaignId;
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<DataWithMediaType> frame) {
+            Set<DataWithMediaType> replaced = pending.getAndSet(frame);
+            if (replaced != null && replaced != HEARTBEAT) {
+                droppedCounter.increment();
+            }
+            scheduleDrain();
+        }
+
+        // Heartbeat não substitui mensagem de verdade
+        private void offerIfIdle(Set<DataWithMediaType> frame) {
+            if (pending.compareAndSet(null, frame)) {
+                scheduleDrain();
+            }
+        }
+
+        private void completeAfterDrain() {
+            completeWhenDrained = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        // Um único escritor por inscrito; quem enfileira depois do último getAndSet reagenda
+        private void drain() {
+            try {
+                while (true) {
+                    Set<DataWithMediaType> frame = pending.getAndSet(null);
+                    if (frame == null) {
+                        if (completeWhenDrained) {
+                            emitter.complete();
+                            return;
+                        }
+                        draining.set(false);
+                        if (pending.get() == null || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    emitter.send(frame);
+                    if (frame != HEARTBEAT) {
+                        sentCounter.increment();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente foi embora ou o stream já fechou; o container encerra a requisição assíncrona
+                if (campaignId != null) {
+                    unsubscribe(this);
+                }
+            }
+        }
+    }
+}
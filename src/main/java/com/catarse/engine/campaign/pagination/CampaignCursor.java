@@ -0,0 +1,62 @@
+package com.catarse.engine.campaign.pagination;
+
+import com.catarse.engine.campaign.entity.Campaign;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token opaco de continuação para paginação por keyset: guarda a chave de
+ * ordenação e o id da última campanha devolvida. Sem {@code endDate} a
+ * ordenação é só por id.
+ */
+public record CampaignCursor(LocalDateTime endDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static CampaignCursor byEndDate(Campaign campaign) {
+        return new CampaignCursor(campaign.getEndDate(), campaign.getId());
+    }
+
+    public static CampaignCursor byId(Campaign campaign) {
+        return new CampaignCursor(null, campaign.getId());
+    }
+
+    public static ScrollPosition toScrollPosition(String token) {
+        return token == null || token.isBlank() ? ScrollPosition.keyset() : decode(token).toScrollPosition();
+    }
+
+    public static CampaignCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new CampaignCursor(null, Long.valueOf(raw));
+            }
+            return new CampaignCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = endDate == null ? String.valueOf(id) : endDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (endDate != null) {
+            keys.put("endDate", endDate);
+        }
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,74 @@
+package com.catarse.engine.campaign.ranking;
+
+import com.catarse.engine.campaign.dto.projection.CampaignSearchDocument;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.repository.CampaignRepository;
+import com.catarse.engine.campaign.search.CampaignSearchIndex;
+import com.catarse.engine.donation.accumulator.CampaignTotalAccumulator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Relê do banco as campanhas ACTIVE e reconcilia os índices em memória
+ * (rankings e busca). Cada nó só vê as mudanças que ele mesmo fez; campanhas
+ * ativadas, editadas ou encerradas em outro nó, e os totais que outro nó
+ * gravou, chegam por aqui. O progresso ao vivo lê os totais do índice de
+ * rankings e se corrige junto.
+ * <p>
+ * O total de cada campanha é o do banco mais o pendente deste nó, lidos com o
+ * flush do acumulador parado. A janela de "em alta" continua sendo só do que
+ * este nó processou.
+ */
+@Slf4j
+@Component
+public class CampaignIndexResync {
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignTotalAccumulator campaignTotalAccumulator;
+    private final CampaignRankingIndex campaignRankingIndex;
+    private final CampaignSearchIndex campaignSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public CampaignIndexResync(CampaignRepository campaignRepository,
+                               CampaignTotalAccumulator campaignTotalAccumulator,
+                               CampaignRankingIndex campaignRankingIndex,
+                               CampaignSearchIndex campaignSearchIndex,
+                               PlatformTransactionManager transactionManager) {
+        this.campaignRepository = campaignRepository;
+        this.campaignTotalAccumulator = campaignTotalAccumulator;
+        this.campaignRankingIndex = campaignRankingIndex;
+        this.campaignSearchIndex = campaignSearchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Lê do primário (transação não read-only), como a carga inicial dos índices
+    @Scheduled(fixedDelayString = "${catarse.campaigns.index-resync-interval-ms:60000}",
+            initialDelayString = "${catarse.campaigns.index-resync-interval-ms:60000}")
+    public void resync() {
+        if (!campaignRankingIndex.isRunning() || !campaignSearchIndex.isRunning()) {
+            return;
+        }
+        try {
+            campaignTotalAccumulator.withFlushPaused(() -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CampaignSummaryResponse> summaries =
+                             campaignRepository.streamSummariesByStatus(CampaignStatus.ACTIVE)) {
+                    campaignRankingIndex.resync(summaries, campaignTotalAccumulator::getPendingCents);
+                }
+            }));
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CampaignSearchDocument> documents =
+                             campaignRepository.streamSearchDocumentsByStatus(CampaignStatus.ACTIVE)) {
+                    campaignSearchIndex.resync(documents);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to resync campaign indexes from the database", e);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.catarse.engine.campaign.ranking;
+
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.repository.CampaignRepository;
+import com.catarse.engine.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Rankings em memória das campanhas ACTIVE, servidos sem ir ao banco:
+ * mais perto da meta (fração arrecadada), em alta (valor aprovado na janela
+ * recente) e terminando antes (end_date).
+ * <p>
+ * Cada ranking é um skip list ordenado; uma mudança reposiciona só a campanha
+ * afetada (O(log n)) e a leitura percorre a cabeça da lista (O(K)). As
+ * atualizações de uma campanha são serializadas pelo {@code compute} do mapa.
+ * O total parte do banco na subida e acompanha o {@code CampaignTotalAccumulator},
+ * como o {@code currentAmount} exibido nas respostas. O que muda em outros nós
+ * chega pela releitura periódica do banco ({@link CampaignIndexResync}).
+ */
+@Slf4j
+@Component
+public class CampaignRankingIndex implements SmartLifecycle {
+
+    private static final Comparator<Ranked> BY_FUNDING = Comparator
+            .comparingDouble(Ranked::fundingRatio).reversed()
+            .thenComparing(Ranked::id);
+    private static final Comparator<Ranked> BY_END_DATE = Comparator
+            .comparing(Ranked::endDate)
+            .thenComparing(Ranked::id);
+    private static final Comparator<Ranked> BY_VELOCITY = Comparator
+            .comparingLong(Ranked::recentCents).reversed()
+            .thenComparing(Ranked::id);
+
+    // Limite entre quem já bateu a meta e quem não: id máximo fica depois de todos com fração 1.0
+    private static final Ranked GOAL_BOUNDARY =
+            new Ranked(Long.MAX_VALUE, null, Money.ofCents(1), Money.ofCents(1), LocalDateTime.MAX, null, null, 0);
+
+    private final CampaignRepository campaignRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int buckets;
+    private final long bucketMillis;
+
+    private final ConcurrentHashMap<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final NavigableSet<Ranked> byFunding = new ConcurrentSkipListSet<>(BY_FUNDING);
+    private final NavigableSet<Ranked> byEndDate = new ConcurrentSkipListSet<>(BY_END_DATE);
+    private final NavigableSet<Ranked> byVelocity = new ConcurrentSkipListSet<>(BY_VELOCITY);
+    // Quando cada campanha saiu por este nó: a releitura não devolve o que ela leu antes da saída
+    private final ConcurrentHashMap<Long, Long> removedAt = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public CampaignRankingIndex(CampaignRepository campaignRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${catarse.campaigns.ranking.trending-window:1h}") Duration trendingWindow,
+                                @Value("${catarse.campaigns.ranking.trending-buckets:60}") int buckets) {
+        this.campaignRepository = campaignRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buckets = buckets;
+        this.bucketMillis = Math.max(1, trendingWindow.toMillis() / buckets);
+    }
+
+    // Campanha ficou ACTIVE ou mudou título, meta ou prazo; o total só é usado se ela ainda não estava no índice
+    public void upsert(CampaignResponse campaign) {
+        upsert(new CampaignSummaryResponse(campaign.getId(), campaign.getTitle(), campaign.getGoalAmount(),
+                campaign.getCurrentAmount(), campaign.getEndDate(), campaign.getStatus(),
+                campaign.getUserId(), campaign.getGoalReachedAt()));
+    }
+
+    // Campanha saiu de ACTIVE ou foi removida
+    public void remove(Long campaignId) {
+        removedAt.put(campaignId, System.nanoTime());
+        slots.computeIfPresent(campaignId, (id, slot) -> {
+            unindex(slot.ranked);
+            return null;
+        });
+    }
+
+    public void removeAll(Iterable<Long> campaignIds) {
+        campaignIds.forEach(this::remove);
+    }
+
+    // Valor aprovado (ou estornado, negativo) que passou pelo acumulador
+    public void recordDonation(Long campaignId, Money amount) {
+        long bucket = currentBucket();
+        slots.computeIfPresent(campaignId, (id, slot) -> {
+            if (amount.cents() > 0) {
+                slot.window.add(bucket, amount.cents());
+            }
+            slot.current = slot.current.plus(amount);
+            reindex(slot, bucket);
+            return slot;
+        });
+    }
+
+    // Correção da conciliação: muda o total sem contar como doação recente
+    public void adjustTotal(Long campaignId, Money delta) {
+        long bucket = currentBucket();
+        slots.computeIfPresent(campaignId, (id, slot) -> {
+            slot.current = slot.current.plus(delta);
+            reindex(slot, bucket);
+            return slot;
+        });
+    }
+
+    public List<CampaignSummaryResponse> closestToGoal(int limit, boolean includeReached) {
+        return top(includeReached ? byFunding : byFunding.tailSet(GOAL_BOUNDARY, false), limit, false);
+    }
+
+    public List<CampaignSummaryResponse> trending(int limit) {
+        return top(byVelocity, limit, false);
+    }
+
+    public List<CampaignSummaryResponse> endingSoon(int limit) {
+        return top(byEndDate, limit, true);
+    }
+
+    // Foto atual de uma campanha ACTIVE; null se ela não está no índice
+    public CampaignSummaryResponse get(Long campaignId) {
+        Slot slot = slots.get(campaignId);
+        Ranked ranked = slot == null ? null : slot.ranked;
+        return ranked == null ? null : ranked.toResponse();
+    }
+
+    // Fração da meta arrecadada de uma campanha ACTIVE, sem montar a resposta; NaN se ela não está no índice
+    public double fundingRatio(Long campaignId) {
+        Slot slot = slots.get(campaignId);
+        Ranked ranked = slot == null ? null : slot.ranked;
+        return ranked == null ? Double.NaN : ranked.fundingRatio();
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Reconcilia com as campanhas ACTIVE lidas do banco: entra quem foi ativado
+     * em outro nó, sai quem foi encerrado, e o total vira o do banco mais o
+     * pendente deste nó. O que este nó alterou depois do início da releitura
+     * vale mais que a leitura.
+     */
+    public void resync(Stream<CampaignSummaryResponse> active, ToLongFunction<Long> pendingCents) {
+        long startedAt = System.nanoTime();
+        long bucket = currentBucket();
+        Set<Long> seen = new HashSet<>();
+        active.forEach(summary -> {
+            seen.add(summary.getId());
+            slots.compute(summary.getId(), (id, slot) -> {
+                if (slot == null) {
+                    Long removed = removedAt.get(id);
+                    if (removed != null && removed - startedAt >= 0) {
+                        return null;
+                    }
+                    slot = new Slot(id, new SlidingWindow(buckets), summary.getCurrentAmount());
+                    copy(summary, slot);
+                } else if (slot.touchedAt - startedAt < 0) {
+                    copy(summary, slot);
+                }
+                slot.current = summary.getCurrentAmount().plus(Money.ofCents(pendingCents.applyAsLong(id)));
+                reindex(slot, bucket);
+                return slot;
+            });
+        });
+        slots.keySet().stream()
+                .filter(id -> !seen.contains(id))
+                .forEach(id -> slots.computeIfPresent(id, (key, slot) -> {
+                    if (slot.touchedAt - startedAt >= 0) {
+                        return slot;
+                    }
+                    unindex(slot.ranked);
+                    return null;
+                }));
+        removedAt.values().removeIf(at -> at - startedAt < 0);
+    }
+
+    // Janelas expiram com o tempo mesmo sem doação nova: reposiciona quem ainda está no ranking de alta
+    @Scheduled(fixedDelayString = "${catarse.campaigns.ranking.refresh-interval-ms:10000}")
+    public void refreshTrending() {
+        long bucket = currentBucket();
+        Set<Long> ids = new HashSet<>();
+        byVelocity.forEach(ranked -> ids.add(ranked.id()));
+        ids.forEach(id -> slots.computeIfPresent(id, (key, slot) -> {
+            reindex(slot, bucket);
+            return slot;
+        }));
+    }
+
+    private void upsert(CampaignSummaryResponse summary) {
+        long bucket = currentBucket();
+        slots.compute(summary.getId(), (id, slot) -> {
+            if (slot == null) {
+                slot = new Slot(id, new SlidingWindow(buckets), summary.getCurrentAmount());
+            }
+            copy(summary, slot);
+            slot.touchedAt = System.nanoTime();
+            reindex(slot, bucket);
+            return slot;
+        });
+    }
+
+    private static void copy(CampaignSummaryResponse summary, Slot slot) {
+        slot.title = summary.getTitle();
+        slot.goal = summary.getGoalAmount();
+        slot.endDate = summary.getEndDate();
+        slot.userId = summary.getUserId();
+        slot.goalReachedAt = summary.getGoalReachedAt();
+    }
+
+    private void reindex(Slot slot, long bucket) {
+        Ranked next = new Ranked(slot.id, slot.title, slot.goal, slot.current, slot.endDate,
+                slot.userId, slot.goalReachedAt, slot.window.sum(bucket));
+        unindex(slot.ranked);
+        slot.ranked = next;
+        byFunding.add(next);
+        byEndDate.add(next);
+        if (next.recentCents() > 0) {
+            byVelocity.add(next);
+        }
+    }
+
+    private void unindex(Ranked ranked) {
+        if (ranked != null) {
+            byFunding.remove(ranked);
+            byEndDate.remove(ranked);
+            byVelocity.remove(ranked);
+        }
+    }
+
+    private List<CampaignSummaryResponse> top(NavigableSet<Ranked> ranking, int limit, boolean skipExpired) {
+        LocalDateTime now = skipExpired ? LocalDateTime.now() : null;
+        List<CampaignSummaryResponse> result = new ArrayList<>(limit);
+        // A leitura pode cruzar uma reposição em andamento e ver a mesma campanha duas vezes
+        Set<Long> seen = new HashSet<>();
+        for (Ranked ranked : ranking) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (now != null && !ranked.endDate().isAfter(now)) {
+                continue;
+            }
+            if (seen.add(ranked.id())) {
+                result.add(ranked.toResponse());
+            }
+        }
+        return result;
+    }
+
+    private long currentBucket() {
+        return System.currentTimeMillis() / bucketMillis;
+    }
+
+    // Lê do primário (transação não read-only): os totais daqui em diante são deltas sobre esta carga
+    private void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CampaignSummaryResponse> summaries =
+                         campaignRepository.streamSummariesByStatus(CampaignStatus.ACTIVE)) {
+                summaries.forEach(this::upsert);
+            }
+        });
+        log.info("Campaign ranking index loaded {} active campaigns", slots.size());
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Depois do acumulador (fase 0), que grava na subida o que ficou pendente; antes dos pagamentos (fase 100)
+    @Override
+    public int getPhase() {
+        return 50;
+    }
+
+    // Estado mutável da campanha, sempre alterado dentro do compute do mapa
+    private static final class Slot {
+        private final Long id;
+        private final SlidingWindow window;
+        private Money current;
+        private String title;
+        private Money goal;
+        private LocalDateTime endDate;
+        private Long userId;
+        private LocalDateTime goalReachedAt;
+        // Última alteração por este nó (nanoTime), comparada com o início da releitura
+        private long touchedAt = System.nanoTime();
+        // Volátil: get() lê fora do compute
+        private volatile Ranked ranked;
+
+        private Slot(Long id, SlidingWindow window, Money current) {
+            this.id = id;
+            this.window = window;
+            this.current = current;
+        }
+    }
+
+    // Foto imutável da campanha nos skip lists; trocar a foto é remover e inserir
+    private record Ranked(Long id, String title, Money goal, Money current, LocalDateTime endDate,
+                          Long userId, LocalDateTime goalReachedAt, long recentCents) {
+
+        double fundingRatio() {
+            return current.fractionOf(goal);
+        }
+
+        CampaignSummaryResponse toResponse() {
+            return new CampaignSummaryResponse(id, title, goal, current, endDate, CampaignStatus.ACTIVE,
+                    userId, goalReachedAt);
+        }
+    }
+
+    // Soma por balde de tempo; baldes com época fora da janela não contam
+    private static final class SlidingWindow {
+        private final long[] cents;
+        private final long[] epochs;
+
+        private SlidingWindow(int buckets) {
+            this.cents = new long[buckets];
+            this.epochs = new long[buckets];
+        }
+
+        private void add(long bucket, long value) {
+            int index = (int) (bucket % cents.length);
+            if (epochs[index] != bucket) {
+                epochs[index] = bucket;
+                cents[index] = 0;
+            }
+            cents[index] += value;
+        }
+
+        private long sum(long bucket) {
+            long total = 0;
+            for (int i = 0; i < cents.length; i++) {
+                if (bucket - epochs[i] < cents.length) {
+                    total += cents[i];
+                }
+            }
+            return total;
+        }
+    }
+}
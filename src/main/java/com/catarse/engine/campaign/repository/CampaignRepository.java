@@ -1,17 +1,31 @@
 package com.catarse.engine.campaign.repository;
 
+import com.catarse.engine.campaign.dto.projection.CampaignDeadline;
+import com.catarse.engine.campaign.dto.projection.CampaignSearchDocument;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
 import com.catarse.engine.campaign.entity.Campaign;
 import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.money.Money;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
@@ -22,18 +36,96 @@ public interface CampaignRepository extends JpaRepository<Campaign, Long> {
     // Buscar campanhas ativas
     Page<Campaign> findByStatus(CampaignStatus status, Pageable pageable);
 
+    // Listagem resumida: só as colunas do card, sem entidade gerenciada nem descrição
+    @Query(value = "SELECT new com.catarse.engine.campaign.dto.response.CampaignSummaryResponse("
+            + "c.id, c.title, c.goalAmount, c.currentAmount, c.endDate, c.status, c.userId, c.goalReachedAt) "
+            + "FROM Campaign c WHERE c.status = :status",
+            countQuery = "SELECT COUNT(c) FROM Campaign c WHERE c.status = :status")
+    Page<CampaignSummaryResponse> findSummariesByStatus(@Param("status") CampaignStatus status, Pageable pageable);
+
+    // Mesma projeção em streaming, para carregar o índice de rankings na subida
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.catarse.engine.campaign.dto.response.CampaignSummaryResponse("
+            + "c.id, c.title, c.goalAmount, c.currentAmount, c.endDate, c.status, c.userId, c.goalReachedAt) "
+            + "FROM Campaign c WHERE c.status = :status")
+    Stream<CampaignSummaryResponse> streamSummariesByStatus(@Param("status") CampaignStatus status);
+
+    // Texto das campanhas para o índice de busca, em ordem de id (as listas do índice saem ordenadas)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description FROM Campaign c "
+            + "WHERE c.status = :status ORDER BY c.id")
+    Stream<CampaignSearchDocument> streamSearchDocumentsByStatus(@Param("status") CampaignStatus status);
+
+    // Exportação: cursor só para frente, entidades somente leitura; filtros opcionais
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c FROM Campaign c WHERE (:status IS NULL OR c.status = :status) "
+            + "AND (:from IS NULL OR c.createdAt >= :from) AND (:to IS NULL OR c.createdAt < :to) ORDER BY c.id")
+    Stream<Campaign> streamForExport(@Param("status") CampaignStatus status,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Listagem por keyset (seek) das ativas, sem OFFSET nem COUNT — índice (status, end_date, id)
+    Window<Campaign> findByStatusOrderByEndDateAscIdAsc(CampaignStatus status, ScrollPosition position, Limit limit);
+
+    // Listagem por keyset das campanhas do usuário — índice (user_id, id)
+    Window<Campaign> findByUserIdOrderByIdAsc(Long userId, ScrollPosition position, Limit limit);
+
+    long countByStatus(CampaignStatus status);
+
+    long countByUserId(Long userId);
+
     // Buscar campanhas por status e usuário
     Page<Campaign> findByUserIdAndStatus(Long userId, CampaignStatus status, Pageable pageable);
 
     // Verificar se usuário é dono da campanha
     boolean existsByIdAndUserId(Long id, Long userId);
 
-    // Buscar campanhas que expiraram e ainda estão ativas (para job)
-    List<Campaign> findByStatusAndEndDateBefore(CampaignStatus status, LocalDateTime date);
+    // Verificar se a campanha está em determinado status (ex.: aceitando doações)
+    boolean existsByIdAndStatus(Long id, CampaignStatus status);
+
+    // Prazos das campanhas em um status, lidos em streaming (agenda de encerramento)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.id AS id, c.endDate AS endDate FROM Campaign c WHERE c.status = :status")
+    Stream<CampaignDeadline> streamDeadlinesByStatus(@Param("status") CampaignStatus status);
+
+    // Dono da campanha, para distinguir 404 de 403 quando o UPDATE condicional não afeta linha
+    @Query("SELECT c.userId FROM Campaign c WHERE c.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    // Alteração condicionada ao dono (e à versão, se informada) num único statement
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Campaign c SET c.title = :title, c.description = :description, c.goalAmount = :goalAmount, "
+            + "c.startDate = :startDate, c.endDate = :endDate, c.updatedAt = :now, c.version = c.version + 1 "
+            + "WHERE c.id = :id AND c.userId = :userId AND (:version IS NULL OR c.version = :version)")
+    int updateDetailsIfOwner(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version,
+                             @Param("title") String title, @Param("description") String description,
+                             @Param("goalAmount") Money goalAmount, @Param("startDate") LocalDateTime startDate,
+                             @Param("endDate") LocalDateTime endDate, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Campaign c SET c.status = :status, c.updatedAt = :now, c.version = c.version + 1 "
+            + "WHERE c.id = :id AND c.userId = :userId AND (:version IS NULL OR c.version = :version)")
+    int updateStatusIfOwner(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version,
+                            @Param("status") CampaignStatus status, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Campaign c WHERE c.id = :id AND c.userId = :userId")
+    int deleteIfOwner(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Encerrar em lote as ativas vencidas: COMPLETED se bateu a meta, senão CANCELLED
+    @Modifying
+    @Query("UPDATE Campaign c SET c.status = CASE WHEN c.currentAmount >= c.goalAmount "
+            + "THEN com.catarse.engine.campaign.entity.CampaignStatus.COMPLETED "
+            + "ELSE com.catarse.engine.campaign.entity.CampaignStatus.CANCELLED END, c.updatedAt = :now, "
+            + "c.version = c.version + 1 "
+            + "WHERE c.id IN :ids AND c.status = com.catarse.engine.campaign.entity.CampaignStatus.ACTIVE "
+            + "AND c.endDate <= :now")
+    int closeExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
-    // Buscar campanhas que atingiram meta (para job)
-    @Query("SELECT c FROM Campaign c WHERE c.status = :status AND c.currentAmount >= c.goalAmount")
-    List<Campaign> findCampaignsThatReachedGoal(@Param("status") CampaignStatus status);
+    // Marcar em lote as campanhas que acabaram de atingir a meta
+    @Modifying
+    @Query("UPDATE Campaign c SET c.goalReachedAt = :now "
+            + "WHERE c.id IN :ids AND c.goalReachedAt IS NULL AND c.currentAmount >= c.goalAmount")
+    int markGoalReached(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
     // Buscar campanha com validação de dono (para segurança)
     Optional<Campaign> findByIdAndUserId(Long id, Long userId);
@@ -0,0 +1,558 @@
+package com.catarse.engine.campaign.search;
+
+import com.catarse.engine.campaign.dto.projection.CampaignSearchDocument;
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
+import com.catarse.engine.campaign.repository.CampaignRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória sobre título e descrição das campanhas ACTIVE,
+ * mantido pelos mesmos caminhos que atualizam o {@link CampaignRankingIndex}.
+ * <p>
+ * O dicionário é ordenado (prefixo = faixa do skip list) e cada termo aponta
+ * para uma lista imutável de campanhas ordenada por id; uma alteração troca
+ * as listas dos termos afetados, sob um lock só de escrita. A busca exige
+ * todos os termos, pontua com BM25 (título pesa mais) e mistura com a fração
+ * da meta já arrecadada, lida do índice de rankings.
+ * <p>
+ * O que muda em outros nós chega pela releitura periódica do banco
+ * ({@code CampaignIndexResync}), que só reindexa o que mudou.
+ */
+@Slf4j
+@Component
+public class CampaignSearchIndex implements SmartLifecycle {
+
+    // Ocorrência no título vale por três na descrição
+    private static final int TITLE_WEIGHT = 3;
+    // Limite de termos que um prefixo curto pode abrir ("c" casaria metade do dicionário)
+    private static final int MAX_EXPANSIONS = 64;
+    // Ordem do heap das expansões: a de menos campanhas (depois a maior na ordem do dicionário) sai primeiro
+    private static final Comparator<Map.Entry<String, Postings>> BY_FREQUENCY = Comparator
+            .comparingInt((Map.Entry<String, Postings> entry) -> entry.getValue().size())
+            .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PACKED = 0xFFFF;
+    // Documentos por troca de listas na releitura: o lock de escrita não fica preso num lote enorme
+    private static final int RESYNC_BATCH_SIZE = 500;
+
+    // Ordem do heap: o pior resultado (menor score, depois maior id) sai primeiro
+    private static final Comparator<Hit> BY_SCORE = Comparator
+            .comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignRankingIndex campaignRankingIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final double fundingWeight;
+
+    private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    // Termos de cada campanha indexada, para desfazer a entrada numa alteração
+    private final ConcurrentHashMap<Long, Indexed> documents = new ConcurrentHashMap<>();
+    // Quando cada campanha saiu por este nó: a releitura não devolve o que ela leu antes da saída
+    private final ConcurrentHashMap<Long, Long> removedAt = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long totalLength;
+
+    private volatile boolean running;
+
+    public CampaignSearchIndex(CampaignRepository campaignRepository,
+                               CampaignRankingIndex campaignRankingIndex,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${catarse.campaigns.search.funding-weight:0.5}") double fundingWeight) {
+        this.campaignRepository = campaignRepository;
+        this.campaignRankingIndex = campaignRankingIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fundingWeight = fundingWeight;
+    }
+
+    // Campanha ficou ACTIVE ou mudou título/descrição
+    public void upsert(CampaignResponse campaign) {
+        apply(List.of(new Document(campaign.getId(), campaign.getTitle(), campaign.getDescription())), List.of());
+    }
+
+    // Campanha saiu de ACTIVE ou foi removida
+    public void remove(Long campaignId) {
+        removeAll(List.of(campaignId));
+    }
+
+    public void removeAll(Collection<Long> campaignIds) {
+        long now = System.nanoTime();
+        campaignIds.forEach(id -> removedAt.put(id, now));
+        apply(List.of(), campaignIds);
+    }
+
+    /**
+     * Reconcilia com as campanhas ACTIVE lidas do banco: reindexa as novas e as
+     * de texto diferente, tira as que não vieram. O que este nó alterou depois
+     * do início da releitura vale mais que a leitura.
+     */
+    public void resync(Stream<? extends CampaignSearchDocument> active) {
+        long startedAt = System.nanoTime();
+        Set<Long> seen = new HashSet<>();
+        List<Document> changed = new ArrayList<>();
+        active.forEach(row -> {
+            seen.add(row.getId());
+            Indexed current = documents.get(row.getId());
+            if (current == null) {
+                Long removed = removedAt.get(row.getId());
+                if (removed != null && removed - startedAt >= 0) {
+                    return;
+                }
+            } else if (current.indexedAt() - startedAt >= 0
+                    || current.textHash() == textHash(row.getTitle(), row.getDescription())) {
+                return;
+            }
+            changed.add(new Document(row.getId(), row.getTitle(), row.getDescription()));
+            if (changed.size() == RESYNC_BATCH_SIZE) {
+                apply(List.copyOf(changed), List.of());
+                changed.clear();
+            }
+        });
+        List<Long> gone = documents.entrySet().stream()
+                .filter(entry -> !seen.contains(entry.getKey()) && entry.getValue().indexedAt() - startedAt < 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!changed.isEmpty() || !gone.isEmpty()) {
+            apply(changed, gone);
+            log.debug("Campaign search resync reindexed {} and removed {} campaigns", changed.size(), gone.size());
+        }
+        removedAt.values().removeIf(at -> at - startedAt < 0);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Campanhas com todos os termos da consulta, da mais relevante para a
+     * menos; a última palavra, se incompleta, casa por prefixo. Um prefixo abre
+     * no máximo {@value #MAX_EXPANSIONS} termos, os que estão em mais
+     * campanhas: campanha que só casa por um termo raro de um prefixo curto fica
+     * de fora até a digitação estreitar o prefixo.
+     */
+    public List<CampaignSummaryResponse> search(String text, int limit) {
+        SearchAnalyzer.Query query = SearchAnalyzer.parse(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        List<Clause> clauses = new ArrayList<>(query.terms().size() + 1);
+        for (String term : query.terms()) {
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                return List.of();
+            }
+            clauses.add(new Clause(List.of(postings)));
+        }
+        if (query.prefix() != null) {
+            List<Postings> expansions = expand(query.prefix());
+            if (expansions.isEmpty()) {
+                return List.of();
+            }
+            clauses.add(new Clause(expansions));
+        }
+        // O termo mais raro define os candidatos; os demais só filtram
+        clauses.sort(Comparator.comparingInt(Clause::documentFrequency));
+
+        int documentCount = Math.max(1, documents.size());
+        Bm25 bm25 = new Bm25(documentCount, Math.max(1.0, (double) totalLength / documentCount));
+        Scored candidates = clauses.getFirst().scored(bm25);
+        for (int i = 1; i < clauses.size() && candidates.size > 0; i++) {
+            clauses.get(i).retainIn(candidates, bm25);
+        }
+        return top(candidates, limit);
+    }
+
+    // Os termos do prefixo com mais campanhas; o heap guarda só MAX_EXPANSIONS enquanto percorre a faixa
+    private List<Postings> expand(String prefix) {
+        PriorityQueue<Map.Entry<String, Postings>> best = new PriorityQueue<>(MAX_EXPANSIONS + 1, BY_FREQUENCY);
+        for (Map.Entry<String, Postings> entry : terms.subMap(prefix, prefix + Character.MAX_VALUE).entrySet()) {
+            best.add(entry);
+            if (best.size() > MAX_EXPANSIONS) {
+                best.poll();
+            }
+        }
+        List<Postings> expansions = new ArrayList<>(best.size());
+        best.forEach(entry -> expansions.add(entry.getValue()));
+        return expansions;
+    }
+
+    private List<CampaignSummaryResponse> top(Scored candidates, int limit) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BY_SCORE);
+        double maxBoost = 1.0 + fundingWeight;
+        for (int i = 0; i < candidates.size; i++) {
+            double relevance = candidates.scores[i];
+            // Nem com a meta batida passaria do pior do heap: dispensa a consulta ao índice de rankings
+            if (best.size() == limit && relevance * maxBoost < best.peek().score()) {
+                continue;
+            }
+            // NaN = deixou de estar ACTIVE entre a alteração e esta leitura
+            double funded = campaignRankingIndex.fundingRatio(candidates.ids[i]);
+            if (Double.isNaN(funded)) {
+                continue;
+            }
+            best.add(new Hit(candidates.ids[i], relevance * (1.0 + fundingWeight * Math.min(1.0, funded))));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<CampaignSummaryResponse> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            CampaignSummaryResponse summary = campaignRankingIndex.get(best.poll().id());
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result.reversed();
+    }
+
+    // Alteração incremental: cada termo afetado ganha uma lista nova, montada uma vez para o lote inteiro
+    private void apply(Collection<Document> upserts, Collection<Long> removals) {
+        writeLock.lock();
+        try {
+            Map<String, TermChange> changes = new HashMap<>();
+            Map<Long, Indexed> indexed = new HashMap<>();
+            long lengthDelta = 0;
+
+            Set<Long> touched = new HashSet<>(removals);
+            upserts.forEach(document -> touched.add(document.id()));
+            for (Long id : touched) {
+                Indexed previous = documents.get(id);
+                if (previous != null) {
+                    for (String term : previous.terms()) {
+                        changes.computeIfAbsent(term, key -> new TermChange()).removed.add(id);
+                    }
+                    lengthDelta -= previous.length();
+                }
+            }
+            for (Document document : upserts) {
+                Indexed weighed = weigh(document, (term, value) -> changes
+                        .computeIfAbsent(term, key -> new TermChange()).added.put(document.id(), value));
+                indexed.put(document.id(), weighed);
+                lengthDelta += weighed.length();
+            }
+
+            changes.forEach((term, change) -> {
+                Postings next = terms.getOrDefault(term, Postings.EMPTY).with(change.removed, change.added);
+                if (next.size() == 0) {
+                    terms.remove(term);
+                } else {
+                    terms.put(term, next);
+                }
+            });
+            removals.forEach(documents::remove);
+            documents.putAll(indexed);
+            totalLength += lengthDelta;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Carga inicial: ids crescentes, então cada lista sai ordenada só com append
+    void load(Stream<? extends CampaignSearchDocument> source) {
+        writeLock.lock();
+        try {
+            Map<String, PostingsBuilder> builders = new HashMap<>();
+            long[] length = {0};
+            source.forEach(row -> {
+                Indexed weighed = weigh(new Document(row.getId(), row.getTitle(), row.getDescription()),
+                        (term, value) -> builders.computeIfAbsent(term, key -> new PostingsBuilder())
+                                .add(row.getId(), value));
+                documents.put(row.getId(), weighed);
+                length[0] += weighed.length();
+            });
+            builders.forEach((term, builder) -> terms.put(term, builder.build()));
+            totalLength += length[0];
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Entrega cada termo com peso e tamanho já empacotados; devolve o que a remoção vai precisar
+    private static Indexed weigh(Document document, ObjIntConsumer<String> posting) {
+        Map<String, Integer> weights = new HashMap<>();
+        List<String> title = SearchAnalyzer.tokens(document.title());
+        List<String> description = SearchAnalyzer.tokens(document.description());
+        title.forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        description.forEach(term -> weights.merge(term, 1, Integer::sum));
+        int length = title.size() + description.size();
+        weights.forEach((term, weight) -> posting.accept(term, pack(weight, length)));
+        return new Indexed(weights.keySet().toArray(String[]::new), length,
+                textHash(document.title(), document.description()), System.nanoTime());
+    }
+
+    // Só para a releitura saber se o texto mudou; uma colisão deixa a campanha como está até editarem de novo
+    private static int textHash(String title, String description) {
+        return Objects.hash(title, description);
+    }
+
+    // Peso e tamanho do documento num int: 16 bits cada, com teto (título e descrição são curtos)
+    private static int pack(int weight, int length) {
+        return Math.min(weight, MAX_PACKED) << 16 | Math.min(length, MAX_PACKED);
+    }
+
+    // Lê do primário (transação não read-only), como o índice de rankings
+    private void rebuild() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<CampaignSearchDocument> rows =
+                         campaignRepository.streamSearchDocumentsByStatus(CampaignStatus.ACTIVE)) {
+                load(rows);
+            }
+        });
+        log.info("Campaign search index loaded {} active campaigns, {} terms", documents.size(), terms.size());
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Junto com o índice de rankings, antes do servidor web
+    @Override
+    public int getPhase() {
+        return 50;
+    }
+
+    private record Document(Long id, String title, String description) {
+    }
+
+    // indexedAt: System.nanoTime() de quando entrou, comparado com o início da releitura
+    private record Indexed(String[] terms, int length, int textHash, long indexedAt) {
+    }
+
+    private record Hit(long id, double score) {
+    }
+
+    private static final class TermChange {
+        private final Set<Long> removed = new HashSet<>();
+        private final TreeMap<Long, Integer> added = new TreeMap<>();
+    }
+
+    private record Bm25(int documentCount, double averageLength) {
+
+        double idf(int documentFrequency) {
+            return Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        double score(int packed, double idf) {
+            double weight = packed >>> 16;
+            double length = packed & MAX_PACKED;
+            return idf * weight * (K1 + 1) / (weight + K1 * (1 - B + B * length / averageLength));
+        }
+    }
+
+    // Uma palavra da consulta: um termo exato ou as expansões de um prefixo (vale a melhor)
+    private record Clause(List<Postings> postings) {
+
+        int documentFrequency() {
+            int total = 0;
+            for (Postings list : postings) {
+                total += list.size();
+            }
+            return total;
+        }
+
+        Scored scored(Bm25 bm25) {
+            Scored union = Scored.of(postings.getFirst(), bm25);
+            for (int i = 1; i < postings.size(); i++) {
+                union = union.union(Scored.of(postings.get(i), bm25));
+            }
+            return union;
+        }
+
+        // Termo exato pontua só os ids que sobreviveram; prefixo precisa da união antes
+        void retainIn(Scored candidates, Bm25 bm25) {
+            if (postings.size() == 1) {
+                candidates.retain(postings.getFirst(), bm25);
+            } else {
+                candidates.retain(scored(bm25));
+            }
+        }
+    }
+
+    // Candidatos da consulta: ids crescentes e score acumulado; a interseção reaproveita os arrays
+    private static final class Scored {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+
+        private Scored(long[] ids, double[] scores, int size) {
+            this.ids = ids;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        static Scored of(Postings postings, Bm25 bm25) {
+            double idf = bm25.idf(postings.size());
+            double[] scores = new double[postings.size()];
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = bm25.score(postings.packed[i], idf);
+            }
+            // Cópia dos ids: a interseção escreve por cima, e a lista do índice é compartilhada
+            return new Scored(postings.ids.clone(), scores, scores.length);
+        }
+
+        Scored union(Scored other) {
+            long[] ids = new long[size + other.size];
+            double[] scores = new double[ids.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || i < size && this.ids[i] < other.ids[j]) {
+                    ids[n] = this.ids[i];
+                    scores[n++] = this.scores[i++];
+                } else if (i == size || other.ids[j] < this.ids[i]) {
+                    ids[n] = other.ids[j];
+                    scores[n++] = other.scores[j++];
+                } else {
+                    ids[n] = this.ids[i];
+                    scores[n++] = Math.max(this.scores[i++], other.scores[j++]);
+                }
+            }
+            return new Scored(ids, scores, n);
+        }
+
+        // Lista bem maior que os candidatos: busca binária a partir da última posição; senão merge linear
+        void retain(Postings postings, Bm25 bm25) {
+            double idf = bm25.idf(postings.size());
+            boolean seek = postings.size() > size * 8L;
+            int n = 0;
+            int j = 0;
+            for (int i = 0; i < size && j < postings.size(); i++) {
+                if (seek) {
+                    int found = Arrays.binarySearch(postings.ids, j, postings.size(), ids[i]);
+                    j = found >= 0 ? found : -found - 1;
+                } else {
+                    while (j < postings.size() && postings.ids[j] < ids[i]) {
+                        j++;
+                    }
+                }
+                if (j < postings.size() && postings.ids[j] == ids[i]) {
+                    ids[n] = ids[i];
+                    scores[n++] = scores[i] + bm25.score(postings.packed[j], idf);
+                }
+            }
+            size = n;
+        }
+
+        void retain(Scored other) {
+            int n = 0;
+            int j = 0;
+            for (int i = 0; i < size && j < other.size; i++) {
+                while (j < other.size && other.ids[j] < ids[i]) {
+                    j++;
+                }
+                if (j < other.size && other.ids[j] == ids[i]) {
+                    ids[n] = ids[i];
+                    scores[n++] = scores[i] + other.scores[j];
+                }
+            }
+            size = n;
+        }
+    }
+
+    // Lista imutável de um termo: ids crescentes e, em paralelo, peso e tamanho empacotados
+    private static final class Postings {
+
+        private static final Postings EMPTY = new Postings(new long[0], new int[0]);
+
+        private final long[] ids;
+        private final int[] packed;
+
+        private Postings(long[] ids, int[] packed) {
+            this.ids = ids;
+            this.packed = packed;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        // Merge ordenado: tira os removidos e intercala os novos (um id regravado sai e volta)
+        Postings with(Set<Long> removed, TreeMap<Long, Integer> added) {
+            long[] nextIds = new long[ids.length + added.size()];
+            int[] nextPacked = new int[nextIds.length];
+            int size = 0;
+            int i = 0;
+            for (Map.Entry<Long, Integer> entry : added.entrySet()) {
+                long id = entry.getKey();
+                for (; i < ids.length && ids[i] < id; i++) {
+                    if (!removed.contains(ids[i])) {
+                        nextIds[size] = ids[i];
+                        nextPacked[size++] = packed[i];
+                    }
+                }
+                if (i < ids.length && ids[i] == id) {
+                    i++;
+                }
+                nextIds[size] = id;
+                nextPacked[size++] = entry.getValue();
+            }
+            for (; i < ids.length; i++) {
+                if (!removed.contains(ids[i])) {
+                    nextIds[size] = ids[i];
+                    nextPacked[size++] = packed[i];
+                }
+            }
+            return size == nextIds.length ? new Postings(nextIds, nextPacked)
+                    : new Postings(Arrays.copyOf(nextIds, size), Arrays.copyOf(nextPacked, size));
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private long[] ids = new long[4];
+        private int[] packed = new int[4];
+        private int size;
+
+        private void add(long id, int value) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                packed = Arrays.copyOf(packed, size * 2);
+            }
+            ids[size] = id;
+            packed[size++] = value;
+        }
+
+        private Postings build() {
+            return new Postings(Arrays.copyOf(ids, size), Arrays.copyOf(packed, size));
+        }
+    }
+}
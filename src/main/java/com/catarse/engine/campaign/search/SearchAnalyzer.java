@@ -0,0 +1,100 @@
+package com.catarse.engine.campaign.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tokenização do português para o índice e para as consultas: sem acento
+ * ("ação" = "acao"), minúsculas, quebra em tudo que não é letra ou dígito.
+ * Palavras de uma letra e stopwords não entram no índice.
+ */
+final class SearchAnalyzer {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "em", "essa", "esse",
+            "esta", "este", "eu", "foi", "ha", "isso", "mais", "mas", "na", "nas", "nao", "no", "nos", "o", "os",
+            "ou", "para", "pela", "pelas", "pelo", "pelos", "por", "que", "se", "sem", "ser", "seu", "sua", "um",
+            "uma", "voce");
+
+    private SearchAnalyzer() {
+    }
+
+    // Tokens indexáveis, na ordem do texto e com repetição (a frequência conta na relevância)
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        split(text, tokens);
+        tokens.removeIf(SearchAnalyzer::isStopword);
+        return tokens;
+    }
+
+    /**
+     * Consulta de digitação: se o texto termina no meio de uma palavra, ela
+     * ainda está incompleta e vira prefixo (mesmo que hoje seja uma stopword,
+     * "de" pode virar "desenho"). Termos repetidos contam uma vez.
+     */
+    static Query parse(String text) {
+        List<String> words = new ArrayList<>();
+        String prefix = split(text, words) ? words.removeLast() : null;
+        List<String> terms = words.stream().filter(word -> !isStopword(word)).distinct().toList();
+        if (prefix != null && terms.contains(prefix)) {
+            prefix = null;
+        }
+        return new Query(terms, prefix);
+    }
+
+    static String fold(String text) {
+        // Texto ASCII (o caso comum) não passa pelo Normalizer
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return Normalizer.normalize(text, Normalizer.Form.NFD);
+            }
+        }
+        return text;
+    }
+
+    // true se o texto termina dentro de uma palavra indexável (a última da lista)
+    private static boolean split(String text, List<String> out) {
+        if (text == null || text.isEmpty()) {
+            return false;
+        }
+        String folded = fold(text);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                // Acento decomposto pelo NFD: some sem quebrar a palavra
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else {
+                flush(token, out);
+            }
+        }
+        boolean open = token.length() >= MIN_TOKEN_LENGTH;
+        flush(token, out);
+        return open;
+    }
+
+    private static void flush(StringBuilder token, List<String> out) {
+        if (token.length() >= MIN_TOKEN_LENGTH) {
+            out.add(token.toString());
+        }
+        token.setLength(0);
+    }
+
+    private static boolean isStopword(String token) {
+        return STOPWORDS.contains(token);
+    }
+
+    record Query(List<String> terms, String prefix) {
+
+        boolean isEmpty() {
+            return terms.isEmpty() && prefix == null;
+        }
+    }
+}
@@ -1,20 +1,54 @@
 package com.catarse.engine.campaign.service;
 
+import com.catarse.engine.campaign.analytics.RollupGranularity;
 import com.catarse.engine.campaign.dto.request.CampaignRequest;
+import com.catarse.engine.campaign.dto.response.CampaignAnalyticsResponse;
+import com.catarse.engine.campaign.dto.response.CampaignBatchResponse;
 import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.dto.response.CursorPageResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.export.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface CampaignService {
 
     CampaignResponse createCampaign(CampaignRequest request, Long userId);
 
     CampaignResponse getCampaignById(Long id, Long userId);
 
+    CampaignBatchResponse getCampaignsByIds(List<Long> ids);
+
     Page<CampaignResponse> getAllActiveCampaigns(Pageable pageable);
 
+    Page<CampaignSummaryResponse> getActiveCampaignSummaries(Pageable pageable);
+
     Page<CampaignResponse> getCampaignsByUser(Long userId, Pageable pageable);
 
+    CampaignAnalyticsResponse getCampaignAnalytics(Long id, RollupGranularity granularity,
+                                                   LocalDateTime from, LocalDateTime to, Long userId);
+
+    CursorPageResponse<CampaignResponse> scrollActiveCampaigns(String cursor, int size, boolean includeTotal);
+
+    CursorPageResponse<CampaignResponse> scrollCampaignsByUser(Long userId, String cursor, int size, boolean includeTotal);
+
+    List<CampaignSummaryResponse> getClosestToGoal(int limit, boolean includeReached);
+
+    List<CampaignSummaryResponse> getTrendingCampaigns(int limit);
+
+    List<CampaignSummaryResponse> getCampaignsEndingSoon(int limit);
+
+    List<CampaignSummaryResponse> searchCampaigns(String query, int limit);
+
+    void exportCampaigns(CampaignStatus status, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                         OutputStream out) throws IOException;
+
     CampaignResponse updateCampaign(Long id, CampaignRequest request, Long userId);
 
     void deleteCampaign(Long id, Long userId);
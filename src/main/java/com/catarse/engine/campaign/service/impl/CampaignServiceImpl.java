@@ -1,32 +1,78 @@
 package com.catarse.engine.campaign.service.impl;
 
+import com.catarse.engine.campaign.analytics.CampaignAnalyticsReader;
+import com.catarse.engine.campaign.analytics.RollupGranularity;
+import com.catarse.engine.campaign.cache.CampaignCache;
+import com.catarse.engine.campaign.cache.CampaignOwnerCache;
 import com.catarse.engine.campaign.dto.request.CampaignRequest;
+import com.catarse.engine.campaign.dto.response.CampaignAnalyticsResponse;
+import com.catarse.engine.campaign.dto.response.CampaignBatchResponse;
 import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.dto.response.CursorPageResponse;
 import com.catarse.engine.campaign.entity.Campaign;
 import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.lifecycle.CampaignLifecycleScheduler;
+import com.catarse.engine.campaign.pagination.CampaignCursor;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
 import com.catarse.engine.campaign.repository.CampaignRepository;
+import com.catarse.engine.campaign.search.CampaignSearchIndex;
 import com.catarse.engine.campaign.service.CampaignService;
+import com.catarse.engine.config.CacheConfig;
+import com.catarse.engine.datasource.ReadYourWrites;
+import com.catarse.engine.donation.service.DonationService;
+import com.catarse.engine.export.ExportFormat;
+import com.catarse.engine.export.ExportWriter;
+import com.catarse.engine.exception.InvalidOperationException;
 import com.catarse.engine.exception.ResourceNotFoundException;
 import com.catarse.engine.exception.UnauthorizedException;
+import com.catarse.engine.money.Money;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CampaignServiceImpl implements CampaignService {
 
+    private static final List<String> EXPORT_COLUMNS = List.of("id", "title", "description", "goal_amount",
+            "current_amount", "start_date", "end_date", "status", "user_id", "goal_reached_at", "created_at",
+            "updated_at");
+
     private final CampaignRepository campaignRepository;
+    private final DonationService donationService;
+    private final CampaignCache campaignCache;
+    private final CampaignOwnerCache campaignOwnerCache;
+    private final CampaignLifecycleScheduler campaignLifecycleScheduler;
+    private final CampaignRankingIndex campaignRankingIndex;
+    private final CampaignSearchIndex campaignSearchIndex;
+    private final CampaignAnalyticsReader campaignAnalyticsReader;
+    private final EntityManager entityManager;
+    private final ReadYourWrites readYourWrites;
 
+    // Nova campanha nasce DRAFT: não está em nenhuma região do cache
     @Override
     @Transactional
-    @CacheEvict(value = "campaigns", allEntries = true)
     public CampaignResponse createCampaign(CampaignRequest request, Long userId) {
         // Validação de datas
         if (request.getEndDate().isBefore(request.getStartDate())) {
@@ -36,96 +82,361 @@ public class CampaignServiceImpl implements CampaignService {
         Campaign campaign = new Campaign();
         campaign.setTitle(request.getTitle());
         campaign.setDescription(request.getDescription());
-        campaign.setGoalAmount(request.getGoalAmount());
+        campaign.setGoalAmount(Money.of(request.getGoalAmount()));
         campaign.setStartDate(request.getStartDate());
         campaign.setEndDate(request.getEndDate());
         campaign.setUserId(userId);
-        campaign.setCurrentAmount(java.math.BigDecimal.ZERO);
+        campaign.setCurrentAmount(Money.ZERO);
         campaign.setStatus(CampaignStatus.DRAFT);
 
         Campaign savedCampaign = campaignRepository.save(campaign);
+        campaignOwnerCache.put(savedCampaign.getId(), userId);
+        readYourWrites.recordWrite(userId);
         return mapToResponse(savedCampaign);
     }
 
+    // Transação de escrita de propósito: o findById do repositório é readOnly e iria para uma réplica,
+    // e a entrada fica no cache por minutos. Só roda em cache miss
     @Override
-    @Cacheable(value = "campaigns", key = "#id")
+    @Cacheable(value = CacheConfig.CAMPAIGNS, key = "#id", sync = true)
+    @Transactional
     public CampaignResponse getCampaignById(Long id, Long userId) {
         Campaign campaign = campaignRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
 
         // Qualquer um pode ver campanha, mas só o dono vê informações completas?
         // Por enquanto, qualquer um vê (ajustaremos depois com roles)
+        campaignOwnerCache.put(id, campaign.getUserId());
         return mapToResponse(campaign);
     }
 
+    // Um getAllPresent no cache e um único findAllById para o que faltou; o carregado volta para o cache.
+    // Transação de escrita pelo mesmo motivo do getCampaignById
+    @Override
+    @Transactional
+    public CampaignBatchResponse getCampaignsByIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        Map<Long, CampaignResponse> found = new HashMap<>(campaignCache.getAll(distinct));
+        if (found.size() < distinct.size()) {
+            List<Long> misses = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+            List<CampaignResponse> loaded = new ArrayList<>(misses.size());
+            for (Campaign campaign : campaignRepository.findAllById(misses)) {
+                campaignOwnerCache.put(campaign.getId(), campaign.getUserId());
+                CampaignResponse response = mapToResponse(campaign);
+                loaded.add(response);
+                found.put(campaign.getId(), response);
+            }
+            campaignCache.putAll(loaded);
+        }
+
+        List<CampaignSummaryResponse> campaigns = new ArrayList<>(ids.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : ids) {
+            CampaignResponse response = found.get(id);
+            campaigns.add(response == null ? null : toSummary(response));
+            if (response == null && !notFound.contains(id)) {
+                notFound.add(id);
+            }
+        }
+        return new CampaignBatchResponse(campaigns, notFound);
+    }
+
     @Override
-    @Cacheable(value = "campaigns", key = "'active_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = CacheConfig.CAMPAIGN_PAGES,
+            key = "'active_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort",
+            sync = true)
+    @Transactional(readOnly = true)
     public Page<CampaignResponse> getAllActiveCampaigns(Pageable pageable) {
         return campaignRepository.findByStatus(CampaignStatus.ACTIVE, pageable)
                 .map(this::mapToResponse);
     }
 
+    // Sem entidades no contexto de persistência: nada de snapshot para dirty-checking
+    @Override
+    @Cacheable(value = CacheConfig.CAMPAIGN_PAGES,
+            key = "'summary_' + #pageable.pageNumber + '_' + #pageable.pageSize + '_' + #pageable.sort",
+            sync = true)
+    @Transactional(readOnly = true)
+    public Page<CampaignSummaryResponse> getActiveCampaignSummaries(Pageable pageable) {
+        Page<CampaignSummaryResponse> page = campaignRepository.findSummariesByStatus(CampaignStatus.ACTIVE, pageable);
+        page.forEach(summary -> summary.setCurrentAmount(summary.getCurrentAmount()
+                .plus(donationService.getPendingAmount(summary.getId()))));
+        return page;
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public Page<CampaignResponse> getCampaignsByUser(Long userId, Pageable pageable) {
         return campaignRepository.findByUserId(userId, pageable)
                 .map(this::mapToResponse);
     }
 
+    // Só o dono vê; a série vem toda dos baldes pré-calculados
+    @Override
+    @Transactional(readOnly = true)
+    public CampaignAnalyticsResponse getCampaignAnalytics(Long id, RollupGranularity granularity,
+                                                          LocalDateTime from, LocalDateTime to, Long userId) {
+        Long owner = campaignOwnerCache.ownerOf(id);
+        if (owner == null) {
+            owner = campaignRepository.findOwnerIdById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
+            campaignOwnerCache.put(id, owner);
+        }
+        if (!owner.equals(userId)) {
+            throw new UnauthorizedException("You don't have permission to view this campaign's analytics");
+        }
+        return campaignAnalyticsReader.read(id, granularity, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CampaignResponse> scrollActiveCampaigns(String cursor, int size, boolean includeTotal) {
+        Window<Campaign> window = campaignRepository.findByStatusOrderByEndDateAscIdAsc(
+                CampaignStatus.ACTIVE, CampaignCursor.toScrollPosition(cursor), Limit.of(size));
+        Long total = includeTotal ? campaignRepository.countByStatus(CampaignStatus.ACTIVE) : null;
+        return toCursorPage(window, CampaignCursor::byEndDate, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CampaignResponse> scrollCampaignsByUser(Long userId, String cursor, int size,
+                                                                      boolean includeTotal) {
+        Window<Campaign> window = campaignRepository.findByUserIdOrderByIdAsc(
+                userId, CampaignCursor.toScrollPosition(cursor), Limit.of(size));
+        Long total = includeTotal ? campaignRepository.countByUserId(userId) : null;
+        return toCursorPage(window, CampaignCursor::byId, total);
+    }
+
+    // Rankings vêm do índice em memória, sem consulta ao banco
+    @Override
+    public List<CampaignSummaryResponse> getClosestToGoal(int limit, boolean includeReached) {
+        return campaignRankingIndex.closestToGoal(limit, includeReached);
+    }
+
+    @Override
+    public List<CampaignSummaryResponse> getTrendingCampaigns(int limit) {
+        return campaignRankingIndex.trending(limit);
+    }
+
+    @Override
+    public List<CampaignSummaryResponse> getCampaignsEndingSoon(int limit) {
+        return campaignRankingIndex.endingSoon(limit);
+    }
+
+    // Busca textual no índice invertido em memória, só campanhas ACTIVE
+    @Override
+    public List<CampaignSummaryResponse> searchCampaigns(String query, int limit) {
+        return campaignSearchIndex.search(query, limit);
+    }
+
+    // Uma campanha por vez do cursor para a resposta; o detach mantém o contexto de persistência vazio
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCampaigns(CampaignStatus status, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                                OutputStream out) throws IOException {
+        try (Stream<Campaign> campaigns = campaignRepository.streamForExport(status, from, to);
+             ExportWriter writer = ExportWriter.open(format, out, EXPORT_COLUMNS)) {
+            Iterator<Campaign> iterator = campaigns.iterator();
+            while (iterator.hasNext()) {
+                Campaign campaign = iterator.next();
+                writer.write(campaign.getId(), campaign.getTitle(), campaign.getDescription(),
+                        campaign.getGoalAmount(), campaign.getCurrentAmount(), campaign.getStartDate(),
+                        campaign.getEndDate(), campaign.getStatus(), campaign.getUserId(),
+                        campaign.getGoalReachedAt(), campaign.getCreatedAt(), campaign.getUpdatedAt());
+                entityManager.detach(campaign);
+            }
+        }
+    }
+
     @Override
     @Transactional
-    @CacheEvict(value = "campaigns", allEntries = true)
     public CampaignResponse updateCampaign(Long id, CampaignRequest request, Long userId) {
-        Campaign campaign = findCampaignAndValidateOwner(id, userId);
-
         // Validação de datas
         if (request.getEndDate().isBefore(request.getStartDate())) {
             throw new IllegalArgumentException("End date must be after start date");
         }
+        checkKnownOwner(id, userId);
 
-        campaign.setTitle(request.getTitle());
-        campaign.setDescription(request.getDescription());
-        campaign.setGoalAmount(request.getGoalAmount());
-        campaign.setStartDate(request.getStartDate());
-        campaign.setEndDate(request.getEndDate());
+        Money goalAmount = Money.of(request.getGoalAmount());
+        LocalDateTime now = LocalDateTime.now();
+        CampaignResponse cached = cachedAt(id, request.getVersion());
+        Long expectedVersion = request.getVersion() != null ? request.getVersion()
+                : cached != null ? cached.getVersion() : null;
+        int updated = campaignRepository.updateDetailsIfOwner(id, userId, expectedVersion,
+                request.getTitle(), request.getDescription(), goalAmount,
+                request.getStartDate(), request.getEndDate(), now);
+        if (updated == 0 && request.getVersion() == null && cached != null) {
+            cached = null;
+            updated = campaignRepository.updateDetailsIfOwner(id, userId, null,
+                    request.getTitle(), request.getDescription(), goalAmount,
+                    request.getStartDate(), request.getEndDate(), now);
+        }
+        if (updated == 0) {
+            throw resolveRejectedMutation(id, userId, request.getVersion());
+        }
+
+        CampaignResponse response = afterMutation(id, userId, cached, previous -> previous.toBuilder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .goalAmount(goalAmount)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .updatedAt(now)
+                .version(previous.getVersion() + 1)
+                .build());
 
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToResponse(updatedCampaign);
+        campaignCache.evictWithPages(id);
+        if (response.getStatus() == CampaignStatus.ACTIVE) {
+            campaignLifecycleScheduler.track(id, response.getEndDate());
+            campaignRankingIndex.upsert(response);
+            campaignSearchIndex.upsert(response);
+        } else {
+            // Pode ter saído de ACTIVE por outro caminho (agendador, outro nó) sem este nó saber
+            campaignLifecycleScheduler.untrack(id);
+            campaignRankingIndex.remove(id);
+            campaignSearchIndex.remove(id);
+        }
+        return response;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "campaigns", allEntries = true)
     public void deleteCampaign(Long id, Long userId) {
-        Campaign campaign = findCampaignAndValidateOwner(id, userId);
-        campaignRepository.delete(campaign);
+        checkKnownOwner(id, userId);
+        if (campaignRepository.deleteIfOwner(id, userId) == 0) {
+            throw resolveRejectedMutation(id, userId, null);
+        }
+        campaignOwnerCache.evict(id);
+        readYourWrites.recordWrite(userId);
+        // Estar na agenda de encerramento = estava ACTIVE, sem precisar ler a linha antes
+        boolean wasActive = campaignLifecycleScheduler.untrack(id);
+        campaignRankingIndex.remove(id);
+        campaignSearchIndex.remove(id);
+
+        campaignCache.evict(id);
+        if (wasActive) {
+            campaignCache.evictAllPages();
+        }
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "campaigns", allEntries = true)
     public CampaignResponse updateCampaignStatus(Long id, String status, Long userId) {
-        Campaign campaign = findCampaignAndValidateOwner(id, userId);
-
+        CampaignStatus newStatus;
         try {
-            CampaignStatus newStatus = CampaignStatus.valueOf(status.toUpperCase());
-            campaign.setStatus(newStatus);
+            newStatus = CampaignStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid status: " + status);
         }
+        checkKnownOwner(id, userId);
 
-        Campaign updatedCampaign = campaignRepository.save(campaign);
-        return mapToResponse(updatedCampaign);
-    }
+        boolean wasActive = campaignLifecycleScheduler.isTracked(id);
+        LocalDateTime now = LocalDateTime.now();
+        CampaignResponse cached = campaignCache.get(id);
+        int updated = campaignRepository.updateStatusIfOwner(id, userId,
+                cached != null ? cached.getVersion() : null, newStatus, now);
+        if (updated == 0 && cached != null) {
+            cached = null;
+            updated = campaignRepository.updateStatusIfOwner(id, userId, null, newStatus, now);
+        }
+        if (updated == 0) {
+            throw resolveRejectedMutation(id, userId, null);
+        }
 
-    private Campaign findCampaignAndValidateOwner(Long id, Long userId) {
-        Campaign campaign = campaignRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
+        CampaignResponse response = afterMutation(id, userId, cached, previous -> previous.toBuilder()
+                .status(newStatus)
+                .updatedAt(now)
+                .version(previous.getVersion() + 1)
+                .build());
 
-        if (!campaign.getUserId().equals(userId)) {
+        if (newStatus == CampaignStatus.ACTIVE) {
+            campaignLifecycleScheduler.track(id, response.getEndDate());
+            campaignRankingIndex.upsert(response);
+            campaignSearchIndex.upsert(response);
+        } else {
+            campaignLifecycleScheduler.untrack(id);
+            campaignRankingIndex.remove(id);
+            campaignSearchIndex.remove(id);
+        }
+
+        // Entrar ou sair de ACTIVE muda a composição de todas as páginas da listagem
+        if (wasActive != (newStatus == CampaignStatus.ACTIVE)) {
+            campaignCache.evict(id);
+            campaignCache.evictAllPages();
+        } else {
+            campaignCache.evictWithPages(id);
+        }
+        return response;
+    }
+
+    // Dono já conhecido e diferente: 403 sem ir ao banco
+    private void checkKnownOwner(Long id, Long userId) {
+        Long owner = campaignOwnerCache.ownerOf(id);
+        if (owner != null && !owner.equals(userId)) {
             throw new UnauthorizedException("You don't have permission to modify this campaign");
         }
+    }
+
+    // UPDATE/DELETE condicional não afetou linha: descobre o motivo (caminho raro, uma consulta)
+    private RuntimeException resolveRejectedMutation(Long id, Long userId, Long expectedVersion) {
+        Long owner = campaignRepository.findOwnerIdById(id).orElse(null);
+        if (owner == null) {
+            campaignOwnerCache.evict(id);
+            return new ResourceNotFoundException("Campaign not found with id: " + id);
+        }
+        campaignOwnerCache.put(id, owner);
+        if (!owner.equals(userId)) {
+            return new UnauthorizedException("You don't have permission to modify this campaign");
+        }
+        if (expectedVersion != null) {
+            return new InvalidOperationException("Campaign " + id + " was modified by another request");
+        }
+        return new ResourceNotFoundException("Campaign not found with id: " + id);
+    }
+
+    // Entrada em cache só se for da versão que o cliente informou (ou qualquer uma, sem versão)
+    private CampaignResponse cachedAt(Long id, Long version) {
+        CampaignResponse cached = campaignCache.get(id);
+        return cached != null && (version == null || version.equals(cached.getVersion())) ? cached : null;
+    }
+
+    /**
+     * Resposta da alteração. {@code cached} só chega aqui se o UPDATE exigiu a
+     * versão dele: a linha era exatamente a da entrada (toda mudança de status ou
+     * de dados sobe a versão) e a resposta sai dela. Sem entrada, ou com uma
+     * desatualizada (encerrada pelo agendador, alterada em outro nó), relê a
+     * linha já alterada.
+     */
+    private CampaignResponse afterMutation(Long id, Long userId, CampaignResponse cached,
+                                           UnaryOperator<CampaignResponse> change) {
+        campaignOwnerCache.put(id, userId);
+        readYourWrites.recordWrite(userId);
+        if (cached != null) {
+            return change.apply(cached);
+        }
+        return campaignRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found with id: " + id));
+    }
+
+    private CursorPageResponse<CampaignResponse> toCursorPage(Window<Campaign> window,
+                                                              Function<Campaign, CampaignCursor> cursorOf,
+                                                              Long total) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? cursorOf.apply(window.getContent().get(window.size() - 1)).encode()
+                : null;
+        return new CursorPageResponse<>(
+                window.map(this::mapToResponse).getContent(),
+                window.size(),
+                window.hasNext(),
+                nextCursor,
+                total);
+    }
 
-        return campaign;
+    private static CampaignSummaryResponse toSummary(CampaignResponse response) {
+        return new CampaignSummaryResponse(response.getId(), response.getTitle(), response.getGoalAmount(),
+                response.getCurrentAmount(), response.getEndDate(), response.getStatus(), response.getUserId(),
+                response.getGoalReachedAt());
     }
 
     private CampaignResponse mapToResponse(Campaign campaign) {
@@ -134,13 +445,17 @@ public class CampaignServiceImpl implements CampaignService {
         response.setTitle(campaign.getTitle());
         response.setDescription(campaign.getDescription());
         response.setGoalAmount(campaign.getGoalAmount());
-        response.setCurrentAmount(campaign.getCurrentAmount());
+        // Total gravado + doações ainda não descarregadas pelo acumulador
+        response.setCurrentAmount(campaign.getCurrentAmount()
+                .plus(donationService.getPendingAmount(campaign.getId())));
         response.setStartDate(campaign.getStartDate());
         response.setEndDate(campaign.getEndDate());
         response.setStatus(campaign.getStatus());
         response.setUserId(campaign.getUserId());
+        response.setGoalReachedAt(campaign.getGoalReachedAt());
         response.setCreatedAt(campaign.getCreatedAt());
         response.setUpdatedAt(campaign.getUpdatedAt());
+        response.setVersion(campaign.getVersion());
         return response;
     }
 }
\ No newline at end of file
@@ -1,4 +1,81 @@
 package com.catarse.engine.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Configuration
+@EnableCaching
 public class CacheConfig {
+
+    // Campanha individual, chave = id
+    public static final String CAMPAIGNS = "campaigns";
+
+    // Páginas da listagem de ativas, chave = active_<page>_<size>_<sort>
+    public static final String CAMPAIGN_PAGES = "campaignPages";
+
+    @Value("${catarse.cache.campaigns.maximum-size:10000}")
+    private long campaignsMaximumSize;
+
+    @Value("${catarse.cache.campaigns.ttl:10m}")
+    private Duration campaignsTtl;
+
+    @Value("${catarse.cache.campaign-pages.maximum-size:1000}")
+    private long campaignPagesMaximumSize;
+
+    @Value("${catarse.cache.campaign-pages.ttl:30s}")
+    private Duration campaignPagesTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        // Caffeine (W-TinyLFU) com limite de tamanho e TTL por região
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(CAMPAIGNS, region(campaignsMaximumSize, campaignsTtl));
+        cacheManager.registerCustomCache(CAMPAIGN_PAGES, region(campaignPagesMaximumSize, campaignPagesTtl));
+
+        // Evict/put só acontecem depois do commit, evitando recarregar o valor antigo
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> region(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new JitteredExpiry(ttl))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * TTL com variação de ±10% para que chaves carregadas juntas não expirem
+     * todas no mesmo instante.
+     */
+    private record JitteredExpiry(Duration ttl) implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            long nanos = ttl.toNanos();
+            long jitter = nanos / 10;
+            return jitter == 0 ? nanos : nanos - jitter + ThreadLocalRandom.current().nextLong(2 * jitter);
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
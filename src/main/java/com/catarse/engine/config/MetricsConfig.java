@@ -0,0 +1,59 @@
+package com.catarse.engine.config;
+
+import com.catarse.engine.campaign.cache.CampaignOwnerCache;
+import com.catarse.engine.metrics.StatementCountInterceptor;
+import com.catarse.engine.metrics.StatementCounter;
+import com.catarse.engine.user.security.CachingJwtDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Métricas que o Actuator não traz sozinho: SQL por request e os caches
+ * Caffeine que ficam fora do {@code CacheManager}. Latência por endpoint,
+ * caches do {@code CacheManager}, pool Hikari e JVM vêm da auto-configuração;
+ * os histogramas são ligados em {@code application.properties}.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public MeterBinder standaloneCacheMetrics(CampaignOwnerCache campaignOwnerCache, JwtDecoder jwtDecoder) {
+        return registry -> {
+            bindCache(registry, campaignOwnerCache.cache(), "campaignOwners");
+            if (jwtDecoder instanceof CachingJwtDecoder caching) {
+                bindCache(registry, caching.cache(), "verifiedTokens");
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StatementCountInterceptor(meterRegistry)).addPathPatterns("/api/**");
+    }
+
+    // Prometheus exige as mesmas chaves de tag que o Actuator usa nos caches do CacheManager
+    private static void bindCache(MeterRegistry registry, com.github.benmanes.caffeine.cache.Cache<?, ?> cache,
+                                  String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name, Tags.of("cache.manager", "none", "name", name));
+    }
+}
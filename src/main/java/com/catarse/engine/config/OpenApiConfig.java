@@ -2,10 +2,13 @@ package com.catarse.engine.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+// Desligado com springdoc.api-docs.enabled=false (perfil prod), junto com a varredura do springdoc
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 public class OpenApiConfig {
 
     @Bean
@@ -16,4 +19,4 @@ public class OpenApiConfig {
                         .version("1.0")
                         .description("API para plataforma de crowdfunding"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.catarse.engine.config;
+
+import com.catarse.engine.datasource.ReadOnlyRoutingDataSource;
+import com.catarse.engine.datasource.ReadYourWrites;
+import com.catarse.engine.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura em réplicas ({@code catarse.datasource.replicas.enabled=true}).
+ * Transações {@code readOnly} vão para uma réplica; o resto, incluindo
+ * {@code JdbcTemplate} fora de transação, vai para o primário.
+ * <p>
+ * O {@link LazyConnectionDataSourceProxy} só pega a conexão física no
+ * primeiro comando, quando o gerenciador de transação já marcou a conexão
+ * como read-only; é isso que decide entre primário e réplica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catarse.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${catarse.datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${catarse.datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${catarse.datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${catarse.datasource.replicas.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    // Curto: réplica que não responde deve cair para o primário rápido
+    @Value("${catarse.datasource.replicas.connection-timeout:1s}")
+    private Duration connectionTimeout;
+
+    @Value("${catarse.datasource.replicas.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+
+    @Value("${catarse.datasource.replicas.max-lag:5s}")
+    private Duration maxLag;
+
+    // Pool Hikari do primário montado a partir de spring.datasource.*, como a auto-configuração faria
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> dataSources = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            // Réplica fora do ar na subida não impede a aplicação de subir
+            config.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            dataSources.add(new HikariDataSource(config));
+        }
+        return new ReplicaPool(dataSources, lagQuery, maxLag.toSeconds(),
+                (int) Math.max(1, connectionTimeout.toSeconds()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaPool replicaPool, ReadYourWrites readYourWrites) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(primaryDataSource, replicaPool, readYourWrites));
+        return proxy;
+    }
+}
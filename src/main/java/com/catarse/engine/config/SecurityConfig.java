@@ -1,4 +1,134 @@
 package com.catarse.engine.config;
 
+import com.catarse.engine.user.security.AuthenticatedUserFilter;
+import com.catarse.engine.user.security.CachingJwtDecoder;
+import com.catarse.engine.user.security.JwtTokenService;
+import com.catarse.engine.user.security.TokenDenyList;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+import org.springframework.security.web.SecurityFilterChain;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+/**
+ * API stateless com JWT (HS256) do resource server. A chave é montada uma vez,
+ * tokens verificados ficam memorizados no {@link CachingJwtDecoder} e o
+ * {@link AuthenticatedUserFilter} tira userId e roles dos claims: nenhuma
+ * requisição autenticada vai ao banco.
+ */
+@Slf4j
+@Configuration
+@EnableWebSecurity
 public class SecurityConfig {
+
+    private static final int MIN_SECRET_BYTES = 32;
+    // Perfis de desenvolvimento em que a chave aleatória por processo é aceitável
+    private static final Profiles DEV_PROFILES = Profiles.of("local", "h2");
+
+    @Value("${catarse.security.jwt.secret:}")
+    private String secret;
+
+    @Value("${catarse.security.jwt.issuer:catarse-engine}")
+    private String issuer;
+
+    @Value("${catarse.security.jwt.cache-size:100000}")
+    private long verifiedTokenCacheSize;
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users", "/api/v1/users/login").permitAll()
+                        .requestMatchers("/api/v1/campaigns/export", "/api/v1/donations/export").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        // Analytics é só do dono: precisa de token mesmo sendo GET
+                        .requestMatchers(HttpMethod.GET, "/api/v1/campaigns/*/analytics").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/campaigns/**").permitAll()
+                        .requestMatchers("/api/v1/payments/webhook").hasRole("PAYMENT_GATEWAY")
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .anyRequest().authenticated())
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+                .addFilterAfter(new AuthenticatedUserFilter(), BearerTokenAuthenticationFilter.class);
+        return http.build();
+    }
+
+    @Bean
+    public SecretKey jwtSecretKey(Environment environment) {
+        byte[] bytes;
+        if (secret.isBlank()) {
+            // Com mais de um nó, cada um recusaria os tokens dos outros; fora de dev não sobe
+            if (!environment.acceptsProfiles(DEV_PROFILES)) {
+                throw new IllegalStateException("catarse.security.jwt.secret (JWT_SECRET) must be set; "
+                        + "a random per-process key is only allowed with the local or h2 profile");
+            }
+            // Dev: chave aleatória, tokens não sobrevivem a restart
+            log.warn("catarse.security.jwt.secret is not set; using a random key for this process");
+            bytes = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(bytes);
+        } else {
+            bytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("catarse.security.jwt.secret must have at least "
+                        + MIN_SECRET_BYTES + " bytes for HS256");
+            }
+        }
+        return new SecretKeySpec(bytes, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey jwtSecretKey, TokenDenyList tokenDenyList) {
+        NimbusJwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(jwtSecretKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        nimbus.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return new CachingJwtDecoder(nimbus, tokenDenyList, verifiedTokenCacheSize);
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey jwtSecretKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(jwtSecretKey));
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    private static JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(JwtTokenService.ROLES_CLAIM);
+        authorities.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
 }
@@ -0,0 +1,79 @@
+package com.catarse.engine.config;
+
+import com.catarse.engine.throttle.AdaptiveConcurrencyLimiter;
+import com.catarse.engine.throttle.ConcurrencyLimitInterceptor;
+import com.catarse.engine.throttle.RateLimitInterceptor;
+import com.catarse.engine.throttle.RateLimiter;
+import com.catarse.engine.throttle.RatePolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Proteção na entrada da API, antes de qualquer outro interceptor: primeiro o
+ * limite por cliente (barato, recusa o abusivo sem ocupar vaga), depois o
+ * limite global de concorrência. O webhook de pagamentos fica de fora (tem a
+ * própria fila com 503); progresso ao vivo e exportações fogem do limite de
+ * concorrência, pois seguram a conexão por minutos.
+ */
+@Configuration
+public class ThrottleConfig implements WebMvcConfigurer {
+
+    private static final String[] UNTHROTTLED = {"/api/v1/payments/webhook"};
+    private static final String[] LONG_LIVED = {"/api/v1/campaigns/*/progress", "/api/v1/campaigns/export",
+            "/api/v1/donations/export"};
+
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${catarse.ratelimit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${catarse.concurrency.enabled:true}")
+    private boolean concurrencyLimitEnabled;
+
+    @Value("${catarse.ratelimit.login.per-second:0.2}")
+    private double loginPerSecond;
+
+    @Value("${catarse.ratelimit.login.burst:5}")
+    private int loginBurst;
+
+    @Value("${catarse.ratelimit.read.per-second:50}")
+    private double readPerSecond;
+
+    @Value("${catarse.ratelimit.read.burst:100}")
+    private int readBurst;
+
+    @Value("${catarse.ratelimit.write.per-second:5}")
+    private double writePerSecond;
+
+    @Value("${catarse.ratelimit.write.burst:20}")
+    private int writeBurst;
+
+    public ThrottleConfig(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RateLimitInterceptor(rateLimiter,
+                            new RatePolicy("login", loginPerSecond, loginBurst),
+                            new RatePolicy("read", readPerSecond, readBurst),
+                            new RatePolicy("write", writePerSecond, writeBurst)))
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns(UNTHROTTLED)
+                    .order(Ordered.HIGHEST_PRECEDENCE);
+        }
+        if (concurrencyLimitEnabled) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter))
+                    .addPathPatterns("/api/**")
+                    .excludePathPatterns(UNTHROTTLED)
+                    .excludePathPatterns(LONG_LIVED)
+                    .order(Ordered.HIGHEST_PRECEDENCE + 1);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.catarse.engine.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modo de execução com virtual threads ({@code spring.threads.virtual.enabled=true},
+ * perfil {@code virtual}). O Spring Boot já coloca Tomcat, {@code @Async} e
+ * {@code @Scheduled} em virtual threads; aqui entram a trava de concorrência no
+ * banco e o diagnóstico de pinning.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // Mesmo tamanho e mesmo timeout do pool: o semáforo só muda onde a espera acontece
+                ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(
+                        hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("db.concurrency.limit.available", limited,
+                            ConcurrencyLimitedDataSource::availablePermits).register(registry);
+                    Gauge.builder("db.concurrency.limit.waiting", limited,
+                            ConcurrencyLimitedDataSource::queueLength).register(registry);
+                });
+                return limited;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new VirtualThreadPinningMonitor(meterRegistry.getIfAvailable());
+    }
+}
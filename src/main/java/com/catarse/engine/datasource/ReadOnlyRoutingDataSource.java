@@ -0,0 +1,46 @@
+package com.catarse.engine.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Destino das transações read-only ({@code LazyConnectionDataSourceProxy}
+ * com read-only data source): uma réplica disponível do {@link ReplicaPool},
+ * ou o primário quando o usuário do request alterou algo há pouco
+ * ({@link ReadYourWrites}), quando nenhuma réplica está disponível ou quando
+ * a réplica escolhida recusa a conexão.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaPool replicaPool;
+    private final ReadYourWrites readYourWrites;
+
+    public ReadOnlyRoutingDataSource(DataSource primary, ReplicaPool replicaPool, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicaPool = replicaPool;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaPool.Replica replica = readYourWrites.currentUserWroteRecently() ? null : replicaPool.next();
+        if (replica != null) {
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                replicaPool.markDown(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Réplicas usam as próprias credenciais; usuário explícito só faz sentido no primário
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
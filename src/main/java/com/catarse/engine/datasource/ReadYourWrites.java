@@ -0,0 +1,50 @@
+package com.catarse.engine.datasource;
+
+import com.catarse.engine.user.security.AuthenticatedUserFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Usuários que alteraram uma campanha há pouco. Durante a janela, as leituras
+ * read-only desse usuário vão para o primário em vez de uma réplica que talvez
+ * ainda não tenha a alteração. A janela deve ser maior que o atraso máximo
+ * aceito nas réplicas.
+ */
+@Component
+public class ReadYourWrites {
+
+    // null sem réplicas configuradas: tudo já vai para o primário
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${catarse.datasource.replicas.enabled:false}") boolean replicasEnabled,
+                          @Value("${catarse.datasource.replicas.read-your-writes-window:10s}") Duration window) {
+        this.recentWriters = !replicasEnabled ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        if (recentWriters != null && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    // Usuário autenticado do request corrente; fora de um request (jobs, exportação assíncrona) é false
+    public boolean currentUserWroteRecently() {
+        if (recentWriters == null) {
+            return false;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        Object userId = attributes.getAttribute(AuthenticatedUserFilter.USER_ID, RequestAttributes.SCOPE_REQUEST);
+        return userId instanceof Long id && recentWriters.getIfPresent(id) != null;
+    }
+}
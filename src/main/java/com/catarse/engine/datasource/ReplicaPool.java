@@ -0,0 +1,186 @@
+package com.catarse.engine.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réplicas de leitura com checagem periódica de saúde e atraso. Uma réplica
+ * só recebe leituras se respondeu à última checagem com atraso dentro do
+ * limite; sem nenhuma disponível, as leituras voltam para o primário.
+ * <p>
+ * A consulta de atraso é configurável: com {@code SHOW REPLICA STATUS} lê a
+ * coluna {@code Seconds_Behind_Source} (nula = replicação parada); com
+ * qualquer outra consulta, a primeira coluna da primeira linha, em segundos.
+ */
+@Slf4j
+public class ReplicaPool implements HealthIndicator, MeterBinder, AutoCloseable {
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final int probeTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(List<HikariDataSource> dataSources, String lagQuery, long maxLagSeconds,
+                       int probeTimeoutSeconds) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.probeTimeoutSeconds = probeTimeoutSeconds;
+        // Réplicas começam fora até a primeira checagem, feita já na criação
+        check();
+        replicas.stream()
+                .filter(replica -> !replica.healthy)
+                .forEach(replica -> log.warn("Read replica {} is out of rotation: {}", replica.name, replica.reason));
+    }
+
+    // Próxima réplica disponível em rodízio; null quando nenhuma está
+    Replica next() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Falha ao abrir conexão numa leitura: sai do rodízio até a próxima checagem
+    void markDown(Replica replica, SQLException cause) {
+        down(replica, cause.getMessage());
+    }
+
+    @Scheduled(fixedDelayString = "${catarse.datasource.replicas.check-interval-ms:2000}")
+    public void check() {
+        replicas.forEach(this::probe);
+    }
+
+    private void probe(Replica replica) {
+        Long lag;
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(probeTimeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                lag = readLag(rs);
+            }
+        } catch (SQLException e) {
+            down(replica, e.getMessage());
+            return;
+        }
+
+        if (lag == null) {
+            replica.lagSeconds = -1;
+            down(replica, "replication is not running");
+        } else if (lag > maxLagSeconds) {
+            replica.lagSeconds = lag;
+            down(replica, "lag of " + lag + "s exceeds " + maxLagSeconds + "s");
+        } else {
+            replica.lagSeconds = lag;
+            replica.reason = null;
+            if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Read replica {} is in rotation (lag {}s)", replica.name, lag);
+            }
+        }
+    }
+
+    private static Long readLag(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        ResultSetMetaData metaData = rs.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                column = i;
+                break;
+            }
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+
+    private static void down(Replica replica, String reason) {
+        replica.reason = reason;
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Read replica {} removed from rotation: {}", replica.name, reason);
+        }
+    }
+
+    // Réplica fora não derruba a aplicação: as leituras seguem no primário
+    @Override
+    public Health health() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        boolean any = false;
+        for (Replica replica : replicas) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("healthy", replica.healthy);
+            state.put("lagSeconds", replica.lagSeconds);
+            if (replica.reason != null) {
+                state.put("reason", replica.reason);
+            }
+            details.put(replica.name, state);
+            any |= replica.healthy;
+        }
+        details.put("readsOn", any ? "replicas" : "primary");
+        return Health.up().withDetails(details).build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag seen by the last health check (-1 = unknown)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is receiving read-only traffic")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagSeconds = -1;
+        private volatile String reason = "not checked yet";
+
+        private Replica(HikariDataSource dataSource) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.catarse.engine.deadletter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Guarda em {@code dead_letters} o que os pipelines de doações e pagamentos
+ * descartam: o item é serializado em JSON com o erro que o fez falhar. Gravado
+ * fora da transação do lote, que já voltou.
+ * <p>
+ * Se nem a dead letter pode ser gravada, o item vai para o log de erro: é o
+ * último lugar de onde ele ainda pode ser recuperado.
+ */
+@Slf4j
+@Component
+public class DeadLetterStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO dead_letters (source, reference_id, payload, error, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public DeadLetterStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void write(String source, Object referenceId, Object item, Throwable error) {
+        String payload = serialize(item);
+        try {
+            jdbcTemplate.update(INSERT_SQL, source, String.valueOf(referenceId), payload, describe(error),
+                    LocalDateTime.now());
+            log.error("Dead-lettered {} {}", source, referenceId, error);
+        } catch (RuntimeException e) {
+            log.error("Failed to store dead letter from {} {}, payload: {}", source, referenceId, payload, e);
+        }
+        meterRegistry.counter("dead.letters", "source", source).increment();
+    }
+
+    // Para o que nem chegou a ser tentado (parada sem banco): só o log
+    public void abandon(String source, Object referenceId, Object item) {
+        log.error("Abandoned {} {} on shutdown, payload: {}", source, referenceId, serialize(item));
+        meterRegistry.counter("dead.letters.abandoned", "source", source).increment();
+    }
+
+    private String serialize(Object item) {
+        try {
+            return objectMapper.writeValueAsString(item);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(item);
+        }
+    }
+
+    private static String describe(Throwable error) {
+        String description = error.getClass().getName() + ": " + error.getMessage();
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
+    }
+}
@@ -0,0 +1,42 @@
+package com.catarse.engine.deadletter.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item que um pipeline assíncrono não conseguiu gravar nem isolado num lote de
+ * um. Só define o esquema: a escrita ({@code DeadLetterStore}) usa JDBC direto,
+ * e o reprocessamento é manual, a partir do payload.
+ */
+@Entity
+@Table(name = "dead_letters", indexes = {
+        @Index(name = "idx_dead_letters_source_created", columnList = "source, created_at")
+})
+@Data
+@NoArgsConstructor
+public class DeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Pipeline de origem: donation-ingestion, payment-events
+    @Column(nullable = false, length = 40)
+    private String source;
+
+    // Id da doação, transactionId do pagamento
+    @Column(name = "reference_id", nullable = false, length = 100)
+    private String referenceId;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false, length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,344 @@
+package com.catarse.engine.donation.accumulator;
+
+import com.catarse.engine.campaign.cache.CampaignCache;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
+import com.catarse.engine.campaign.repository.CampaignRepository;
+import com.catarse.engine.donation.entity.Donation;
+import com.catarse.engine.donation.repository.DonationRepository;
+import com.catarse.engine.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Acumula em memória, por campanha, o valor das doações com pagamento aprovado
+ * (ou estornado, com sinal negativo) e grava os deltas em lote em
+ * {@code campaigns.current_amount}, sem disputar o lock da linha da campanha a
+ * cada pagamento.
+ * <p>
+ * {@code donations.total_applied} só muda no flush que soma (ou subtrai) a
+ * doação, na mesma transação do incremento. O flush trava as linhas das
+ * doações e só vira a marca a partir do estado oposto: aprovação de doação
+ * ainda fora do total, estorno de doação somada. O incremento de cada campanha
+ * sai das doações que viraram, não da soma em memória, então a mesma doação
+ * vinda de outro nó, de um segundo pagamento ou da recuperação não conta duas
+ * vezes.
+ * <p>
+ * A recuperação ({@link #recover()}, na subida e periódica) relê do banco o
+ * que ficou de fora: doação com pagamento aprovado ainda não somada, doação
+ * somada sem pagamento aprovado e com estorno. Só entra o que mudou há mais de
+ * {@code total-recovery-grace}, para não disputar com o pendente em memória de
+ * outro nó; o que ele somar antes vira no-op no flush. Estorno que chega antes
+ * da aprovação ser somada não subtrai nada no flush: se a aprovação for somada
+ * depois, a recuperação tira.
+ */
+@Slf4j
+@Component
+public class CampaignTotalAccumulator implements SmartLifecycle {
+
+    // updated_at acompanha o total: é o Last-Modified da campanha (a versão fica só para edições)
+    private static final String INCREMENT_SQL =
+            "UPDATE campaigns SET current_amount = current_amount + ?, updated_at = ? WHERE id = ?";
+
+    private static final String LOCK_SQL =
+            "SELECT id, campaign_id, amount, total_applied FROM donations WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    private static final String APPLY_SQL =
+            "UPDATE donations SET total_applied = true WHERE id = ? AND total_applied = false";
+    private static final String REVERT_SQL =
+            "UPDATE donations SET total_applied = false WHERE id = ? AND total_applied = true";
+
+    private static final int LOCK_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DonationRepository donationRepository;
+    private final CampaignRepository campaignRepository;
+    private final CampaignCache campaignCache;
+    private final CampaignRankingIndex campaignRankingIndex;
+    private final Duration recoveryGrace;
+
+    private final ConcurrentHashMap<Long, Stripe> stripes = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean running;
+
+    public CampaignTotalAccumulator(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    DonationRepository donationRepository,
+                                    CampaignRepository campaignRepository,
+                                    CampaignCache campaignCache,
+                                    CampaignRankingIndex campaignRankingIndex,
+                                    @Value("${catarse.donations.total-recovery-grace:1m}") Duration recoveryGrace) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.donationRepository = donationRepository;
+        this.campaignRepository = campaignRepository;
+        this.campaignCache = campaignCache;
+        this.campaignRankingIndex = campaignRankingIndex;
+        this.recoveryGrace = recoveryGrace;
+    }
+
+    // Valor aprovado, ou negativo para estorno
+    public void add(Long campaignId, Long donationId, Money amount) {
+        long cents = amount.cents();
+        Stripe stripe = stripes.get(campaignId);
+        if (stripe == null) {
+            stripe = stripes.computeIfAbsent(campaignId, id -> new Stripe());
+        }
+        // Soma antes de enfileirar: a leitura nunca fica abaixo do que já foi gravado
+        stripe.pendingCents.add(cents);
+        stripe.entries.add(new Entry(donationId, cents));
+        campaignRankingIndex.recordDonation(campaignId, amount);
+    }
+
+    public long getPendingCents(Long campaignId) {
+        Stripe stripe = stripes.get(campaignId);
+        return stripe == null ? 0L : stripe.pendingCents.sum();
+    }
+
+    public Money getPendingAmount(Long campaignId) {
+        return Money.ofCents(getPendingCents(campaignId));
+    }
+
+    @Scheduled(fixedDelayString = "${catarse.donations.total-flush-interval-ms:500}")
+    public void scheduledFlush() {
+        if (flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Sem flush no meio: o total lido do banco mais getPendingCents() não conta nem perde um lote
+    public void withFlushPaused(Runnable work) {
+        flushLock.lock();
+        try {
+            work.run();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        Map<Long, Drained> drained = new HashMap<>();
+        stripes.forEach((campaignId, stripe) -> {
+            Entry entry;
+            Drained batch = null;
+            while ((entry = stripe.entries.poll()) != null) {
+                if (batch == null) {
+                    batch = drained.computeIfAbsent(campaignId, id -> new Drained(stripe));
+                }
+                batch.cents = Math.addExact(batch.cents, entry.cents());
+                batch.entries.add(entry);
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> applied;
+        try {
+            applied = transactionTemplate.execute(status -> {
+                Map<Long, Long> written = write(drained);
+                // Tira do pendente logo no commit: entre o commit e a subtração a leitura soma o delta duas vezes
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        drained.values().forEach(batch -> batch.stripe.pendingCents.add(-batch.cents));
+                    }
+                });
+                return written;
+            });
+        } catch (RuntimeException e) {
+            // Devolve para a fila; o próximo flush tenta de novo
+            drained.values().forEach(batch -> batch.stripe.entries.addAll(batch.entries));
+            log.error("Failed to flush donation totals for {} campaigns", drained.size(), e);
+            return;
+        }
+
+        // O ranking somou cada entrada no add(): desfaz o que o flush não somou (doação já aplicada ou não aplicada)
+        drained.forEach((campaignId, batch) -> {
+            long skipped = applied.getOrDefault(campaignId, 0L) - batch.cents;
+            if (skipped != 0L) {
+                campaignRankingIndex.adjustTotal(campaignId, Money.ofCents(skipped));
+            }
+        });
+        // Depois da subtração: uma entrada carregada naquela janela, com o delta em dobro, sai do cache aqui.
+        // Só a entrada individual: as páginas da listagem aceitam o atraso do TTL curto
+        campaignCache.evictAll(drained.keySet());
+    }
+
+    // Entradas na ordem de chegada por doação; devolve o que foi somado por campanha, em centavos
+    private Map<Long, Long> write(Map<Long, Drained> drained) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Locked> rows = lock(drained);
+        Map<Long, Long> applied = new HashMap<>();
+        drained.values().forEach(batch -> batch.entries.forEach(entry -> {
+            Locked row = rows.get(entry.donationId());
+            if (row == null) {
+                log.warn("Skipping total entry for unknown donation {}", entry.donationId());
+                return;
+            }
+            boolean refund = entry.cents() < 0;
+            if (row.applied == refund) {
+                row.applied = !refund;
+                applied.merge(row.campaignId, refund ? -row.cents : row.cents, Math::addExact);
+            }
+        }));
+
+        List<Object[]> flippedOn = new ArrayList<>();
+        List<Object[]> flippedOff = new ArrayList<>();
+        rows.forEach((donationId, row) -> {
+            if (row.applied != row.wasApplied) {
+                (row.applied ? flippedOn : flippedOff).add(new Object[]{donationId});
+            }
+        });
+        jdbcTemplate.batchUpdate(APPLY_SQL, flippedOn);
+        jdbcTemplate.batchUpdate(REVERT_SQL, flippedOff);
+
+        List<Object[]> increments = new ArrayList<>(applied.size());
+        applied.forEach((campaignId, cents) -> {
+            if (cents != 0L) {
+                increments.add(new Object[]{Money.ofCents(cents).toBigDecimal(), now, campaignId});
+            }
+        });
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, increments);
+
+        // A campanha é marcada no mesmo flush em que o total cruza a meta
+        if (!applied.isEmpty()) {
+            campaignRepository.markGoalReached(applied.keySet(), now);
+        }
+        return applied;
+    }
+
+    // Em ordem de id, em todos os nós
+    private Map<Long, Locked> lock(Map<Long, Drained> drained) {
+        List<Long> ids = drained.values().stream()
+                .flatMap(batch -> batch.entries.stream())
+                .map(Entry::donationId)
+                .distinct()
+                .sorted()
+                .toList();
+        Map<Long, Locked> rows = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOCK_CHUNK_SIZE) {
+            namedJdbcTemplate.query(LOCK_SQL,
+                    new MapSqlParameterSource("ids", ids.subList(from, Math.min(from + LOCK_CHUNK_SIZE, ids.size()))),
+                    rs -> {
+                        rows.put(rs.getLong(1), new Locked(rs.getLong(2),
+                                Money.of(rs.getBigDecimal(3)).cents(), rs.getBoolean(4)));
+                    });
+        }
+        return rows;
+    }
+
+    @Scheduled(fixedDelayString = "${catarse.donations.total-recovery-interval-ms:60000}")
+    public void scheduledRecover() {
+        if (running) {
+            recover();
+        }
+    }
+
+    // Também cobre a aprovação que desistiu de esperar a doação na fila do webhook
+    public void recover() {
+        LocalDateTime before = LocalDateTime.now().minus(recoveryGrace);
+        List<Donation> unapplied = donationRepository.findApprovedNotApplied(before);
+        List<Donation> unreverted = donationRepository.findRefundedStillApplied(before);
+        if (unapplied.isEmpty() && unreverted.isEmpty()) {
+            return;
+        }
+        log.warn("Recovering campaign totals: {} approved and {} refunded donations pending",
+                unapplied.size(), unreverted.size());
+        unapplied.forEach(donation ->
+                add(donation.getCampaignId(), donation.getId(), donation.getAmount()));
+        unreverted.forEach(donation ->
+                add(donation.getCampaignId(), donation.getId(), donation.getAmount().negate()));
+        flush();
+    }
+
+    @Override
+    public void start() {
+        recover();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Sobe antes e para depois do servidor web, que usa fases mais altas
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private static final class Stripe {
+        private final LongAdder pendingCents = new LongAdder();
+        private final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+    }
+
+    private record Entry(Long donationId, long cents) {
+    }
+
+    // Linha travada da doação; applied acompanha as entradas aplicadas no flush
+    private static final class Locked {
+        private final Long campaignId;
+        private final long cents;
+        private final boolean wasApplied;
+        private boolean applied;
+
+        private Locked(Long campaignId, long cents, boolean applied) {
+            this.campaignId = campaignId;
+            this.cents = cents;
+            this.wasApplied = applied;
+            this.applied = applied;
+        }
+    }
+
+    private static final class Drained {
+        private final Stripe stripe;
+        private final List<Entry> entries = new ArrayList<>();
+        private long cents;
+
+        private Drained(Stripe stripe) {
+            this.stripe = stripe;
+        }
+    }
+}
@@ -1,4 +1,50 @@
 package com.catarse.engine.donation.controller;
 
+import com.catarse.engine.donation.dto.request.DonationRequest;
+import com.catarse.engine.donation.dto.response.DonationResponse;
+import com.catarse.engine.donation.service.DonationService;
+import com.catarse.engine.export.ExportFormat;
+import com.catarse.engine.export.ExportResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/donations")
+@RequiredArgsConstructor
 public class DonationController {
+
+    private final DonationService donationService;
+
+    // 202: a doação foi aceita na fila e será gravada em lote
+    @PostMapping
+    public ResponseEntity<DonationResponse> createDonation(
+            @Valid @RequestBody DonationRequest request,
+            @RequestAttribute("userId") Long userId) {
+        DonationResponse response = donationService.createDonation(request, userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    // Exportação completa em streaming: ?format=ndjson|csv&campaignId=&from=&to=(datas de criação)&gzip=true
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDonations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long campaignId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ExportResponses.stream("donations", exportFormat, gzip, out -> donationService.exportDonations(
+                campaignId,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                exportFormat,
+                out));
+    }
 }
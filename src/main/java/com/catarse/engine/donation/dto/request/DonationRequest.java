@@ -1,4 +1,20 @@
 package com.catarse.engine.donation.dto.request;
 
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
 public class DonationRequest {
+
+    @NotNull(message = "Campaign id is required")
+    private Long campaignId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "1.00", message = "Donation must be at least R$ 1,00")
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
 }
@@ -1,4 +1,21 @@
 package com.catarse.engine.donation.dto.response;
 
+import com.catarse.engine.money.Money;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
 public class DonationResponse {
+    private Long id;
+    private Long campaignId;
+    private Long userId;
+    private Money amount;
+    private Status status;
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        QUEUED,
+        RECORDED
+    }
 }
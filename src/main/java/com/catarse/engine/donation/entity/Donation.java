@@ -1,4 +1,41 @@
 package com.catarse.engine.donation.entity;
 
+import com.catarse.engine.money.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "donations", indexes = {
+        @Index(name = "idx_donations_campaign_id", columnList = "campaign_id")
+})
+@Data
+@NoArgsConstructor
 public class Donation {
+
+    // Sequência (emulada em tabela no MySQL) com pool: o id é reservado no request (DonationIdAllocator),
+    // antes do insert em lote da ingestão
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donations_seq")
+    @SequenceGenerator(name = "donations_seq", sequenceName = "donations_seq", allocationSize = 200)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money amount;
+
+    // true quando o valor já foi somado em campaigns.current_amount
+    @Column(name = "total_applied", nullable = false)
+    private boolean totalApplied = false;
+
+    // Hora do request, não do insert assíncrono
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,46 @@
+package com.catarse.engine.donation.ingestion;
+
+import com.catarse.engine.donation.entity.Donation;
+import com.catarse.engine.exception.ServiceUnavailableException;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.HibernateException;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserva o id da doação no request, antes de enfileirar, com o gerador que o
+ * Hibernate usa para a entidade ({@code donations_seq}, pool de 200): só um
+ * acesso à sequência a cada 200 doações. O cliente recebe o id no 202 e já pode
+ * usá-lo no pagamento enquanto a doação está na fila.
+ */
+@Slf4j
+@Component
+public class DonationIdAllocator {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+
+    public DonationIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Donation.class)
+                .getGenerator();
+    }
+
+    // A sessão só pega conexão quando o pool de ids acaba
+    public Long next() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) generator.generate((SharedSessionContractImplementor) session, null);
+        } catch (HibernateException e) {
+            log.warn("Failed to allocate donation ids", e);
+            throw new ServiceUnavailableException("Donation intake is not available, try again shortly",
+                    RETRY_AFTER_SECONDS);
+        }
+    }
+}
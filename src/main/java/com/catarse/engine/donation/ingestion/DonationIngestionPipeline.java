@@ -0,0 +1,226 @@
+package com.catarse.engine.donation.ingestion;
+
+import com.catarse.engine.deadletter.DeadLetterStore;
+import com.catarse.engine.deadletter.TransientFailures;
+import com.catarse.engine.donation.entity.Donation;
+import com.catarse.engine.exception.ServiceUnavailableException;
+import com.catarse.engine.outbox.OutboxWriter;
+import com.catarse.engine.outbox.payload.DonationRecordedPayload;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ingestão write-behind de doações: o request só valida, reserva o id
+ * ({@link DonationIdAllocator}) e enfileira numa fila limitada (503 quando
+ * cheia); uma thread dedicada drena micro-lotes e grava com insert em lote,
+ * junto com um evento DONATION_RECORDED por doação no outbox. O total da
+ * campanha só muda quando o pagamento da doação é aprovado (ver
+ * {@code PaymentEventProcessor}).
+ * <p>
+ * Falha transitória (banco fora) repete o lote inteiro com backoff e a fila
+ * cheia segura os clientes com 503. Qualquer outra falha divide o lote ao meio
+ * até isolar a doação, que vai para a dead letter sem travar as demais.
+ */
+@Slf4j
+@Component
+public class DonationIngestionPipeline implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO donations (id, campaign_id, user_id, amount, total_applied, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DEAD_LETTER_SOURCE = "donation-ingestion";
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final long MAX_BACKOFF_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxWriter outboxWriter;
+    private final DeadLetterStore deadLetterStore;
+    private final BlockingQueue<QueuedDonation> queue;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer latencyTimer;
+
+    private volatile boolean running;
+    // stop() passou do prazo: o que não foi gravado vai para o log em vez de esperar o banco
+    private volatile boolean abandoned;
+    private Thread worker;
+
+    public DonationIngestionPipeline(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     OutboxWriter outboxWriter,
+                                     DeadLetterStore deadLetterStore,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${catarse.donations.ingestion.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${catarse.donations.ingestion.batch-size:200}") int batchSize,
+                                     @Value("${catarse.donations.ingestion.shutdown-timeout:20s}") Duration shutdownTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxWriter = outboxWriter;
+        this.deadLetterStore = deadLetterStore;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+
+        meterRegistry.gauge("donations.ingestion.queue.depth", queue, BlockingQueue::size);
+        this.batchSizeSummary = DistributionSummary.builder("donations.ingestion.batch.size")
+                .description("Donations written per batch")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("donations.ingestion.latency")
+                .description("Time from enqueue to committed insert")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void submit(Donation donation) {
+        if (!running) {
+            throw new ServiceUnavailableException("Donation intake is not running", RETRY_AFTER_SECONDS);
+        }
+        if (!queue.offer(new QueuedDonation(donation, System.nanoTime()))) {
+            throw new ServiceUnavailableException("Donation queue is full, try again shortly", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    private void drainLoop() {
+        List<QueuedDonation> batch = new ArrayList<>(batchSize);
+        while ((running || !queue.isEmpty()) && !abandoned) {
+            try {
+                QueuedDonation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                // stop() só interrompe depois do prazo, e aí marca abandoned antes
+                Thread.interrupted();
+            } finally {
+                batch.clear();
+            }
+        }
+        QueuedDonation left;
+        while ((left = queue.poll()) != null) {
+            deadLetterStore.abandon(DEAD_LETTER_SOURCE, left.donation().getId(), left.donation());
+        }
+    }
+
+    private void writeWithRetry(List<QueuedDonation> batch) {
+        long backoffMs = 100;
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!TransientFailures.isTransient(e)) {
+                    splitOrDeadLetter(batch, e);
+                    return;
+                }
+                if (abandoned) {
+                    batch.forEach(queued ->
+                            deadLetterStore.abandon(DEAD_LETTER_SOURCE, queued.donation().getId(), queued.donation()));
+                    return;
+                }
+                // Banco fora: não descarta o lote, a fila enche e o 503 segura os clientes
+                log.error("Failed to write batch of {} donations, retrying in {} ms", batch.size(), backoffMs, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    // Metade por metade: uma doação ruim custa log2(lote) transações a mais, não o lote inteiro
+    private void splitOrDeadLetter(List<QueuedDonation> batch, RuntimeException error) {
+        if (batch.size() == 1) {
+            QueuedDonation queued = batch.get(0);
+            deadLetterStore.write(DEAD_LETTER_SOURCE, queued.donation().getId(), queued.donation(), error);
+            return;
+        }
+        log.warn("Failed to write batch of {} donations, splitting it", batch.size(), error);
+        int middle = batch.size() / 2;
+        writeWithRetry(batch.subList(0, middle));
+        writeWithRetry(batch.subList(middle, batch.size()));
+    }
+
+    private void write(List<QueuedDonation> batch) {
+        List<Donation> donations = new ArrayList<>(batch.size());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (QueuedDonation queued : batch) {
+            Donation donation = queued.donation();
+            donations.add(donation);
+            rows.add(new Object[]{donation.getId(), donation.getCampaignId(), donation.getUserId(),
+                    donation.getAmount().toBigDecimal(), donation.isTotalApplied(),
+                    Timestamp.valueOf(donation.getCreatedAt())});
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Ids já reservados no request; o evento entra no mesmo commit das doações
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            LocalDateTime recordedAt = LocalDateTime.now();
+            outboxWriter.append(donations.stream()
+                    .map(donation -> DonationRecordedPayload.of(donation, recordedAt))
+                    .toList());
+        });
+
+        long now = System.nanoTime();
+        batch.forEach(queued -> latencyTimer.record(now - queued.enqueuedAt(), TimeUnit.NANOSECONDS));
+        batchSizeSummary.record(donations.size());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("donation-ingestion").start(this::drainLoop);
+    }
+
+    // Espera a fila drenar até o prazo; com o banco fora, o resto vai para o log e a parada segue
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(shutdownTimeout);
+            if (worker.isAlive()) {
+                log.error("Donation ingestion did not drain within {}, abandoning {} queued donations",
+                        shutdownTimeout, queue.size());
+                abandoned = true;
+                worker.interrupt();
+                worker.join(Duration.ofSeconds(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Para depois do servidor web, com a fila drenada
+    @Override
+    public int getPhase() {
+        return 100;
+    }
+
+    private record QueuedDonation(Donation donation, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.catarse.engine.donation.repository;
+
+import com.catarse.engine.donation.entity.Donation;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+@Repository
+public interface DonationRepository extends JpaRepository<Donation, Long> {
+
+    // Pagamento aprovado antes de :before mas valor ainda fora do total da campanha (recuperação)
+    @Query("SELECT d FROM Donation d WHERE d.totalApplied = false AND EXISTS (SELECT p.id FROM Payment p "
+            + "WHERE p.donationId = d.id AND p.status = com.catarse.engine.payment.entity.PaymentStatus.APPROVED "
+            + "AND p.confirmedAt < :before)")
+    List<Donation> findApprovedNotApplied(@Param("before") LocalDateTime before);
+
+    // Estornada antes de :before, sem outro pagamento aprovado, mas valor ainda dentro do total (recuperação)
+    @Query("SELECT d FROM Donation d WHERE d.totalApplied = true AND EXISTS (SELECT p.id FROM Payment p "
+            + "WHERE p.donationId = d.id AND p.status = com.catarse.engine.payment.entity.PaymentStatus.REFUNDED "
+            + "AND p.refundedAt < :before) AND NOT EXISTS (SELECT p.id FROM Payment p "
+            + "WHERE p.donationId = d.id AND p.status = com.catarse.engine.payment.entity.PaymentStatus.APPROVED)")
+    List<Donation> findRefundedStillApplied(@Param("before") LocalDateTime before);
+
+    // Exportação: cursor só para frente, entidades somente leitura; filtros opcionais
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT d FROM Donation d WHERE (:campaignId IS NULL OR d.campaignId = :campaignId) "
+            + "AND (:from IS NULL OR d.createdAt >= :from) AND (:to IS NULL OR d.createdAt < :to) ORDER BY d.id")
+    Stream<Donation> streamForExport(@Param("campaignId") Long campaignId,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
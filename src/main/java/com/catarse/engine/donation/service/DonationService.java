@@ -1,4 +1,21 @@
 package com.catarse.engine.donation.service;
 
-public class DonationService {
+import com.catarse.engine.donation.dto.request.DonationRequest;
+import com.catarse.engine.donation.dto.response.DonationResponse;
+import com.catarse.engine.export.ExportFormat;
+import com.catarse.engine.money.Money;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface DonationService {
+
+    DonationResponse createDonation(DonationRequest request, Long userId);
+
+    // Valor já doado mas ainda não gravado em campaigns.current_amount
+    Money getPendingAmount(Long campaignId);
+
+    void exportDonations(Long campaignId, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                         OutputStream out) throws IOException;
 }
@@ -1,4 +1,114 @@
 package com.catarse.engine.donation.service.impl;
 
-public class DonationServiceiImpl {
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.repository.CampaignRepository;
+import com.catarse.engine.donation.accumulator.CampaignTotalAccumulator;
+import com.catarse.engine.donation.ingestion.DonationIdAllocator;
+import com.catarse.engine.donation.ingestion.DonationIngestionPipeline;
+import com.catarse.engine.donation.dto.request.DonationRequest;
+import com.catarse.engine.donation.dto.response.DonationResponse;
+import com.catarse.engine.donation.entity.Donation;
+import com.catarse.engine.donation.service.DonationService;
+import com.catarse.engine.donation.repository.DonationRepository;
+import com.catarse.engine.exception.BusinessException;
+import com.catarse.engine.export.ExportFormat;
+import com.catarse.engine.export.ExportWriter;
+import com.catarse.engine.money.Money;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class DonationServiceiImpl implements DonationService {
+
+    private static final List<String> EXPORT_COLUMNS =
+            List.of("id", "campaign_id", "user_id", "amount", "total_applied", "created_at");
+
+    private final DonationRepository donationRepository;
+    private final EntityManager entityManager;
+
+    private final CampaignTotalAccumulator campaignTotalAccumulator;
+    private final DonationIngestionPipeline donationIngestionPipeline;
+    private final DonationIdAllocator donationIdAllocator;
+
+    // Evita um SELECT por doação durante picos; uma campanha encerrada aceita doações por no máximo 5s
+    private final LoadingCache<Long, Boolean> acceptingDonations;
+
+    public DonationServiceiImpl(CampaignRepository campaignRepository,
+                                DonationRepository donationRepository,
+                                EntityManager entityManager,
+                                CampaignTotalAccumulator campaignTotalAccumulator,
+                                DonationIngestionPipeline donationIngestionPipeline,
+                                DonationIdAllocator donationIdAllocator) {
+        this.donationRepository = donationRepository;
+        this.entityManager = entityManager;
+        this.campaignTotalAccumulator = campaignTotalAccumulator;
+        this.donationIngestionPipeline = donationIngestionPipeline;
+        this.donationIdAllocator = donationIdAllocator;
+        this.acceptingDonations = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(5))
+                .build(campaignId -> campaignRepository.existsByIdAndStatus(campaignId, CampaignStatus.ACTIVE));
+    }
+
+    @Override
+    public DonationResponse createDonation(DonationRequest request, Long userId) {
+        if (!acceptingDonations.get(request.getCampaignId())) {
+            throw new BusinessException("Campaign is not accepting donations: " + request.getCampaignId());
+        }
+
+        Donation donation = new Donation();
+        donation.setCampaignId(request.getCampaignId());
+        donation.setUserId(userId);
+        donation.setAmount(Money.of(request.getAmount()));
+        donation.setCreatedAt(LocalDateTime.now());
+
+        // Id reservado antes de enfileirar: o cliente já pode pagar a doação; a gravação é assíncrona, em lote
+        donation.setId(donationIdAllocator.next());
+        donationIngestionPipeline.submit(donation);
+        return mapToResponse(donation);
+    }
+
+    @Override
+    public Money getPendingAmount(Long campaignId) {
+        return campaignTotalAccumulator.getPendingAmount(campaignId);
+    }
+
+    // Uma doação por vez do cursor para a resposta; o detach mantém o contexto de persistência vazio
+    @Override
+    @Transactional(readOnly = true)
+    public void exportDonations(Long campaignId, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                                OutputStream out) throws IOException {
+        try (Stream<Donation> donations = donationRepository.streamForExport(campaignId, from, to);
+             ExportWriter writer = ExportWriter.open(format, out, EXPORT_COLUMNS)) {
+            Iterator<Donation> iterator = donations.iterator();
+            while (iterator.hasNext()) {
+                Donation donation = iterator.next();
+                writer.write(donation.getId(), donation.getCampaignId(), donation.getUserId(),
+                        donation.getAmount(), donation.isTotalApplied(), donation.getCreatedAt());
+                entityManager.detach(donation);
+            }
+        }
+    }
+
+    private DonationResponse mapToResponse(Donation donation) {
+        DonationResponse response = new DonationResponse();
+        response.setId(donation.getId());
+        response.setCampaignId(donation.getCampaignId());
+        response.setUserId(donation.getUserId());
+        response.setAmount(donation.getAmount());
+        response.setStatus(DonationResponse.Status.QUEUED);
+        response.setCreatedAt(donation.getCreatedAt());
+        return response;
+    }
 }
@@ -1,4 +1,7 @@
 package com.catarse.engine.exception;
 
-public class DuplicateResourceException {
+public class DuplicateResourceException extends RuntimeException {
+    public DuplicateResourceException(String message) {
+        super(message);
+    }
 }
@@ -1,4 +1,7 @@
 package com.catarse.engine.exception;
 
-public class InvalidOperationException {
+public class InvalidOperationException extends RuntimeException {
+    public InvalidOperationException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,48 @@
+package com.catarse.engine.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Monta a resposta de exportação: o corpo roda na thread assíncrona do Spring
+ * MVC, depois que o controller retorna, e abre ali a própria transação.
+ */
+public final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    @FunctionalInterface
+    public interface ExportBody {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public static ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, boolean gzip,
+                                                               ExportBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody response = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                body.writeTo(compressed);
+                compressed.finish();
+            } else {
+                body.writeTo(out);
+            }
+        };
+        return ResponseEntity.ok().headers(headers).body(response);
+    }
+}
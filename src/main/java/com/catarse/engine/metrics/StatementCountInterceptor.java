@@ -0,0 +1,66 @@
+package com.catarse.engine.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Abre o {@link StatementCounter} no começo do handler e registra o total de
+ * SQL por endpoint (mesmos tags {@code method}/{@code uri} do
+ * {@code http.server.requests}).
+ */
+public class StatementCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Endpoint, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public StatementCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            StatementCounter.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int statements = StatementCounter.end();
+        if (statements < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Endpoint endpoint = new Endpoint(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString());
+        summaries.computeIfAbsent(endpoint, this::register).record(statements);
+    }
+
+    // Resposta assíncrona (exportações): o corpo roda em outra thread e não entra na conta
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        StatementCounter.end();
+    }
+
+    private DistributionSummary register(Endpoint endpoint) {
+        return DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements prepared by Hibernate per request")
+                .tag("method", endpoint.method())
+                .tag("uri", endpoint.uri())
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .register(meterRegistry);
+    }
+
+    private record Endpoint(String method, String uri) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.catarse.engine.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os SQL que o Hibernate prepara na thread do request. Serve para achar
+ * N+1: um endpoint que deveria fazer 2 consultas e faz 50 aparece no
+ * {@code http.server.requests.statements}. Fora de um request (filas, jobs)
+ * não há contador aberto e a inspeção é só um {@code ThreadLocal.get()}.
+ * <p>
+ * SQL do {@code JdbcTemplate} não passa pelo Hibernate e não entra na conta.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Count> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Count count = CURRENT.get();
+        if (count != null) {
+            count.value++;
+        }
+        return sql;
+    }
+
+    public static void begin() {
+        CURRENT.set(new Count());
+    }
+
+    // -1 quando não havia contador aberto nesta thread
+    public static int end() {
+        Count count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? -1 : count.value;
+    }
+
+    private static final class Count {
+        private int value;
+    }
+}
@@ -0,0 +1,77 @@
+package com.catarse.engine.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor em reais guardado como centavos num {@code long}: soma, comparação com
+ * a meta, fração arrecadada e ordenação sem alocar {@link BigDecimal}. As operações
+ * lançam {@link ArithmeticException} em overflow em vez de dar a volta.
+ * <p>
+ * No banco continua {@code DECIMAL} com duas casas ({@link MoneyConverter}) e
+ * no JSON continua número com duas casas ({@link MoneyJson}).
+ */
+@Immutable
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+@Schema(type = "number", format = "decimal", example = "150.00")
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0L);
+
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    // Exato: mais de duas casas decimais ou valor fora do long é erro, nunca arredondamento
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    // Fração da meta já arrecadada (1.0 = meta batida); meta zerada conta como 0
+    public double fractionOf(Money goal) {
+        return goal.cents <= 0L ? 0.0 : (double) cents / goal.cents;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    // Sempre duas casas, ponto decimal e sem notação científica: "1234.50", "-0.05"
+    @Override
+    public String toString() {
+        long units = cents / 100;
+        int fraction = (int) Math.abs(cents % 100);
+        StringBuilder text = new StringBuilder(24);
+        if (cents < 0 && units == 0) {
+            text.append('-');
+        }
+        text.append(units).append('.');
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction).toString();
+    }
+}
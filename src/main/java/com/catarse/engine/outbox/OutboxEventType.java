@@ -0,0 +1,7 @@
+package com.catarse.engine.outbox;
+
+public enum OutboxEventType {
+    DONATION_RECORDED,
+    PAYMENT_APPROVED,
+    PAYMENT_REFUNDED
+}
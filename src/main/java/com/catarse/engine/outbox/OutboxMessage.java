@@ -0,0 +1,10 @@
+package com.catarse.engine.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+// Evento lido da tabela pelo relay; o id é a chave de deduplicação do consumidor (entrega é at-least-once)
+public record OutboxMessage(long id, Long campaignId, OutboxEventType type, @JsonRawValue String payload,
+                            LocalDateTime createdAt) {
+}
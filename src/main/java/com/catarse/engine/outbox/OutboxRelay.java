@@ -0,0 +1,216 @@
+package com.catarse.engine.outbox;
+
+import com.catarse.engine.outbox.sink.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publica os eventos do outbox no {@link OutboxSink} e apaga os publicados.
+ * <p>
+ * Cada rodada, numa transação: trava algumas partições livres
+ * ({@code FOR UPDATE SKIP LOCKED} em {@code outbox_partitions}, então relays
+ * em threads ou nós diferentes nunca pegam a mesma), lê os eventos delas em
+ * ordem de id, publica e apaga em lote. Se a publicação ou o commit falham a
+ * transação volta e o lote é reenviado depois: entrega at-least-once.
+ * <p>
+ * Ordem por campanha: a campanha cai sempre na mesma partição, a partição tem
+ * um relay só por vez e um evento gravado depois do commit de outro tem id
+ * maior, então sai depois (a doação antes da aprovação do seu pagamento, a
+ * aprovação antes do estorno). Eventos de transações concorrentes da mesma
+ * campanha, sem relação entre si, podem sair em qualquer ordem.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final String CLAIM_SQL =
+            "SELECT partition_no FROM outbox_partitions ORDER BY relayed_at, partition_no LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String SELECT_SQL =
+            "SELECT id, campaign_id, event_type, payload, created_at FROM outbox_events"
+                    + " WHERE partition_no IN (:partitions) ORDER BY id LIMIT :limit";
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id IN (:ids)";
+    private static final String TOUCH_SQL = "UPDATE outbox_partitions SET relayed_at = :now WHERE partition_no IN (:partitions)";
+    private static final String INSERT_PARTITION_SQL = "INSERT INTO outbox_partitions (partition_no, relayed_at) VALUES (?, ?)";
+
+    private static final long MAX_BACKOFF_MS = 5_000;
+
+    private static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getLong("campaign_id"),
+            OutboxEventType.valueOf(rs.getString("event_type")),
+            rs.getString("payload"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final int partitions;
+    private final int partitionsPerClaim;
+    private final int batchSize;
+    private final int workerCount;
+    private final long pollIntervalNanos;
+
+    private final Counter publishedCounter;
+    private final Timer lagTimer;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       OutboxSink sink,
+                       MeterRegistry meterRegistry,
+                       @Value("${catarse.outbox.partitions:16}") int partitions,
+                       @Value("${catarse.outbox.relay.partitions-per-claim:4}") int partitionsPerClaim,
+                       @Value("${catarse.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${catarse.outbox.relay.workers:2}") int workerCount,
+                       @Value("${catarse.outbox.relay.poll-interval:200ms}") Duration pollInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.partitions = partitions;
+        this.partitionsPerClaim = Math.min(partitionsPerClaim, partitions);
+        this.batchSize = batchSize;
+        this.workerCount = workerCount;
+        this.pollIntervalNanos = pollInterval.toNanos();
+
+        this.publishedCounter = Counter.builder("outbox.published")
+                .description("Outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.lag")
+                .description("Time from outbox write to delivery")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private void relayLoop() {
+        long backoffMs = 100;
+        while (running) {
+            try {
+                int published = relayOnce();
+                backoffMs = 100;
+                if (published == 0) {
+                    LockSupport.parkNanos(pollIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                log.error("Outbox relay round failed, retrying in {} ms", backoffMs, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    // Uma rodada: número de eventos publicados (0 = nada pendente nas partições pegas ou todas ocupadas)
+    private int relayOnce() {
+        List<OutboxMessage> published = transactionTemplate.execute(status -> {
+            List<Integer> claimed = jdbcTemplate.queryForList(CLAIM_SQL, Integer.class, partitionsPerClaim);
+            if (claimed.isEmpty()) {
+                return List.of();
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("partitions", claimed)
+                    .addValue("limit", batchSize)
+                    .addValue("now", LocalDateTime.now());
+            // Gira as partições mesmo sem eventos, senão a próxima rodada pega as mesmas
+            namedJdbcTemplate.update(TOUCH_SQL, params);
+
+            List<OutboxMessage> messages = namedJdbcTemplate.query(SELECT_SQL, params, MESSAGE_MAPPER);
+            if (messages.isEmpty()) {
+                return List.of();
+            }
+            try {
+                sink.publish(messages);
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink rejected " + messages.size() + " events", e);
+            }
+            List<Long> ids = new ArrayList<>(messages.size());
+            messages.forEach(message -> ids.add(message.id()));
+            namedJdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+            return messages;
+        });
+        if (published == null || published.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        published.forEach(message -> lagTimer.record(Duration.between(message.createdAt(), now)));
+        publishedCounter.increment(published.size());
+        return published.size();
+    }
+
+    // Cria as linhas de partição que faltam; o número de partições deve ser o mesmo em todos os nós
+    private void ensurePartitions() {
+        Set<Integer> existing = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT partition_no FROM outbox_partitions", Integer.class));
+        LocalDateTime epoch = LocalDateTime.of(2000, 1, 1, 0, 0);
+        List<Object[]> missing = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            if (!existing.contains(partition)) {
+                missing.add(new Object[]{partition, epoch});
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_PARTITION_SQL, missing);
+        } catch (DuplicateKeyException e) {
+            // Outro nó subindo ao mesmo tempo criou as linhas
+            log.debug("Outbox partitions already created by another node");
+        }
+    }
+
+    @Override
+    public void start() {
+        ensurePartitions();
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform().name("outbox-relay-" + i).start(this::relayLoop));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Para depois dos pipelines de doação e pagamento (fase 100), que ainda gravam eventos ao drenar
+    @Override
+    public int getPhase() {
+        return 50;
+    }
+}
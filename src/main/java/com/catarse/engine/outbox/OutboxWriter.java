@@ -0,0 +1,67 @@
+package com.catarse.engine.outbox;
+
+import com.catarse.engine.outbox.payload.OutboxPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Grava eventos no outbox dentro da transação de quem chama: o evento existe
+ * se e somente se a mudança que ele descreve foi commitada. Um insert em lote
+ * por transação; a publicação fica com o {@link OutboxRelay}.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (campaign_id, partition_no, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int partitions;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${catarse.outbox.partitions:16}") int partitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.partitions = partitions;
+    }
+
+    // Na ordem da coleção: eventos da mesma campanha saem na ordem em que foram gravados
+    public void append(Collection<? extends OutboxPayload> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written inside the transaction they describe");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        for (OutboxPayload payload : payloads) {
+            rows.add(new Object[]{payload.campaignId(), partitionOf(payload.campaignId()), payload.type().name(),
+                    serialize(payload), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private int partitionOf(Long campaignId) {
+        return (int) Math.floorMod(campaignId, (long) partitions);
+    }
+
+    private String serialize(OutboxPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload " + payload.type(), e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.catarse.engine.outbox.entity;
+
+import com.catarse.engine.outbox.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do outbox. Só define o esquema: a escrita ({@code OutboxWriter}) e o
+ * relay ({@code OutboxRelay}) usam JDBC direto.
+ * <p>
+ * IDENTITY de propósito: o id é atribuído no insert, logo um evento gravado
+ * depois do commit de outro sempre tem id maior. Com sequência em pool cada
+ * thread reserva um bloco e o id deixaria de seguir a ordem de escrita.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_partition_id", columnList = "partition_no, id")
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partitionNo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
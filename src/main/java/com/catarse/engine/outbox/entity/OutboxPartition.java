@@ -0,0 +1,23 @@
+package com.catarse.engine.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Trava de uma partição do outbox: quem segura a linha (FOR UPDATE) é o único relay publicando dela
+@Entity
+@Table(name = "outbox_partitions")
+@Data
+@NoArgsConstructor
+public class OutboxPartition {
+
+    @Id
+    @Column(name = "partition_no")
+    private Integer partitionNo;
+
+    // Partições paradas há mais tempo são pegas primeiro
+    @Column(name = "relayed_at", nullable = false)
+    private LocalDateTime relayedAt;
+}
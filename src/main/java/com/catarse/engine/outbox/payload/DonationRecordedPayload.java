@@ -0,0 +1,21 @@
+package com.catarse.engine.outbox.payload;
+
+import com.catarse.engine.donation.entity.Donation;
+import com.catarse.engine.money.Money;
+import com.catarse.engine.outbox.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+public record DonationRecordedPayload(Long donationId, Long campaignId, Long userId, Money amount,
+                                      LocalDateTime recordedAt) implements OutboxPayload {
+
+    public static DonationRecordedPayload of(Donation donation, LocalDateTime recordedAt) {
+        return new DonationRecordedPayload(donation.getId(), donation.getCampaignId(), donation.getUserId(),
+                donation.getAmount(), recordedAt);
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.DONATION_RECORDED;
+    }
+}
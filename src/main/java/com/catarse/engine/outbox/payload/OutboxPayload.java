@@ -0,0 +1,13 @@
+package com.catarse.engine.outbox.payload;
+
+import com.catarse.engine.outbox.OutboxEventType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Corpo de um evento do outbox; a campanha define a partição e, com ela, a ordem de entrega
+public interface OutboxPayload {
+
+    Long campaignId();
+
+    @JsonIgnore
+    OutboxEventType type();
+}
@@ -0,0 +1,18 @@
+package com.catarse.engine.outbox.payload;
+
+import com.catarse.engine.money.Money;
+import com.catarse.engine.outbox.OutboxEventType;
+import com.catarse.engine.payment.entity.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+// Pagamento aprovado ou estornado depois de aprovado: os que mexem no total da campanha
+public record PaymentSettledPayload(Long paymentId, String transactionId, Long donationId, Long campaignId,
+                                    Long userId, Money amount, PaymentStatus status, String paymentMethod,
+                                    LocalDateTime settledAt) implements OutboxPayload {
+
+    @Override
+    public OutboxEventType type() {
+        return status == PaymentStatus.REFUNDED ? OutboxEventType.PAYMENT_REFUNDED : OutboxEventType.PAYMENT_APPROVED;
+    }
+}
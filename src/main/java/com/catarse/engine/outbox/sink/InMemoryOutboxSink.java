@@ -0,0 +1,44 @@
+package com.catarse.engine.outbox.sink;
+
+import com.catarse.engine.outbox.OutboxMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Guarda os últimos eventos publicados em memória; para testes locais, nada sai do processo
+@Component
+@ConditionalOnProperty(name = "catarse.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final ArrayDeque<OutboxMessage> recent = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryOutboxSink(@Value("${catarse.outbox.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            if (recent.size() == capacity) {
+                recent.pollFirst();
+            }
+            recent.addLast(message);
+        }
+    }
+
+    // Mais recentes primeiro
+    public synchronized List<OutboxMessage> recent(int limit) {
+        List<OutboxMessage> result = new ArrayList<>(Math.min(limit, recent.size()));
+        Iterator<OutboxMessage> iterator = recent.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
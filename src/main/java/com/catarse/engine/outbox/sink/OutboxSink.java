@@ -0,0 +1,16 @@
+package com.catarse.engine.outbox.sink;
+
+import com.catarse.engine.outbox.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos do outbox (broker, fila, arquivo). O lote chega em ordem
+ * de id; retornar sem exceção confirma a entrega e os eventos saem da tabela.
+ * Uma falha devolve o lote inteiro, que será reenviado: o mesmo evento pode
+ * chegar mais de uma vez.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
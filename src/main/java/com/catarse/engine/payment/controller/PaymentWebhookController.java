@@ -1,4 +1,28 @@
 package com.catarse.engine.payment.controller;
 
+import com.catarse.engine.payment.dto.request.PaymentWebhookRequest;
+import com.catarse.engine.payment.dto.response.WebhookAckResponse;
+import com.catarse.engine.payment.service.PaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/payments/webhook")
+@RequiredArgsConstructor
 public class PaymentWebhookController {
+
+    private final PaymentService paymentService;
+
+    // Responde antes de aplicar o evento; reenvios já vistos recebem 200
+    @PostMapping
+    public ResponseEntity<WebhookAckResponse> receive(@Valid @RequestBody PaymentWebhookRequest request) {
+        WebhookAckResponse response = paymentService.receiveWebhook(request);
+        HttpStatus status = response.getResult() == WebhookAckResponse.Result.DUPLICATE
+                ? HttpStatus.OK
+                : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(response);
+    }
 }
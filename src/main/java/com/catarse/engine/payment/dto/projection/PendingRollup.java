@@ -0,0 +1,26 @@
+package com.catarse.engine.payment.dto.projection;
+
+import com.catarse.engine.money.Money;
+import com.catarse.engine.payment.entity.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+// Pagamento aprovado ou estornado ainda fora dos baldes de analytics, com os dados da doação
+public interface PendingRollup {
+
+    Long getPaymentId();
+
+    PaymentStatus getStatus();
+
+    PaymentStatus getRollupStatus();
+
+    LocalDateTime getConfirmedAt();
+
+    LocalDateTime getRefundedAt();
+
+    Long getCampaignId();
+
+    Long getDonorId();
+
+    Money getAmount();
+}
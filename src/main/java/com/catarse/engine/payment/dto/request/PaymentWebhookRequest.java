@@ -0,0 +1,36 @@
+package com.catarse.engine.payment.dto.request;
+
+import com.catarse.engine.payment.entity.PaymentStatus;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PaymentWebhookRequest {
+
+    @NotBlank(message = "Transaction id is required")
+    @Size(max = 255, message = "Transaction id max 255 characters")
+    private String transactionId;
+
+    @NotNull(message = "Donation id is required")
+    private Long donationId;
+
+    @NotNull(message = "User id is required")
+    private Long userId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
+
+    @NotNull(message = "Status is required")
+    private PaymentStatus status;
+
+    @Size(max = 50, message = "Payment method max 50 characters")
+    private String paymentMethod;
+}
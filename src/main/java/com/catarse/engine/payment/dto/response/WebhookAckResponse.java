@@ -0,0 +1,16 @@
+package com.catarse.engine.payment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class WebhookAckResponse {
+    private String transactionId;
+    private Result result;
+
+    public enum Result {
+        ACCEPTED,
+        DUPLICATE
+    }
+}
@@ -1,10 +1,61 @@
-package com.catarse.engine.payment.entity;  // ← CORRETO
-
-public enum Payment {
-    PENDING,
-    PROCESSING,
-    APPROVED,
-    FAILED,
-    REFUNDED,
-    CANCELLED
-}
\ No newline at end of file
+package com.catarse.engine.payment.entity;
+
+import com.catarse.engine.money.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+// donation_id: soma por campanha da conciliação (donations → payments); status/rollup_status: recuperação dos baldes
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_donation_id", columnList = "donation_id"),
+        @Index(name = "idx_payments_status_rollup", columnList = "status, rollup_status")
+})
+@Data
+@NoArgsConstructor
+public class Payment {
+
+    // Sequência com pool para permitir insert em lote dos webhooks
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long donationId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus status = PaymentStatus.PENDING;
+
+    @Column(nullable = false, unique = true)
+    private String transactionId;
+
+    @Column(length = 50)
+    private String paymentMethod; // CREDIT_CARD, PIX, BOLETO
+
+    @CreationTimestamp
+    private LocalDateTime paymentDate;
+
+    private LocalDateTime confirmedAt;
+
+    private LocalDateTime refundedAt;
+
+    // Último status (APPROVED ou REFUNDED) já somado nos baldes de analytics da campanha.
+    // Só o flush dos baldes grava: o save do webhook não pode devolver um valor lido antes do flush
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rollup_status", length = 20, insertable = false, updatable = false)
+    private PaymentStatus rollupStatus;
+
+    @Version
+    private Long version;
+}
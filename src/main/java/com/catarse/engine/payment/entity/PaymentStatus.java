@@ -0,0 +1,27 @@
+package com.catarse.engine.payment.entity;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum PaymentStatus {
+    PENDING,
+    PROCESSING,
+    APPROVED,
+    FAILED,
+    REFUNDED,
+    CANCELLED;
+
+    // Transições aceitas vindas do gateway; o resto é descartado como fora de ordem
+    public boolean canTransitionTo(PaymentStatus next) {
+        return allowedNext().contains(next);
+    }
+
+    private Set<PaymentStatus> allowedNext() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(PROCESSING, APPROVED, FAILED, CANCELLED);
+            case PROCESSING -> EnumSet.of(APPROVED, FAILED, CANCELLED);
+            case APPROVED -> EnumSet.of(REFUNDED);
+            case FAILED, REFUNDED, CANCELLED -> EnumSet.noneOf(PaymentStatus.class);
+        };
+    }
+}
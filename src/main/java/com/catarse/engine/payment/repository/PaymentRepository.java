@@ -1,44 +1,34 @@
-package com.catarse.engine.payment;
-
-import jakarta.persistence.*;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
-
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "payments")
-@Data
-@NoArgsConstructor
-public class Payment {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private Long donationId;
-
-    @Column(nullable = false)
-    private Long userId;
-
-    @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal amount;
-
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
-    private PaymentStatus status = PaymentStatus.PENDING;
-
-    @Column(nullable = false, unique = true)
-    private String transactionId;
-
-    @Column(length = 50)
-    private String paymentMethod; // CREDIT_CARD, PIX, BOLETO
-
-    @CreationTimestamp
-    private LocalDateTime paymentDate;
-
-    private LocalDateTime confirmedAt;
-}
\ No newline at end of file
+package com.catarse.engine.payment.repository;
+
+import com.catarse.engine.payment.dto.projection.PendingRollup;
+import com.catarse.engine.payment.entity.Payment;
+import com.catarse.engine.payment.entity.PaymentStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    // Carregar em lote os pagamentos de um micro-lote de webhooks
+    List<Payment> findByTransactionIdIn(Collection<String> transactionIds);
+
+    // Pagamentos de um status para as doações do lote (aprovação duplicada da mesma doação)
+    List<Payment> findByDonationIdInAndStatus(Collection<Long> donationIds, PaymentStatus status);
+
+    // Aprovação ou estorno que não chegou aos baldes de analytics (recuperação após queda), em páginas por id
+    @Query("SELECT p.id AS paymentId, p.status AS status, p.rollupStatus AS rollupStatus, "
+            + "p.confirmedAt AS confirmedAt, p.refundedAt AS refundedAt, "
+            + "d.campaignId AS campaignId, d.userId AS donorId, d.amount AS amount "
+            + "FROM Payment p JOIN Donation d ON d.id = p.donationId "
+            + "WHERE p.id > :afterId AND ((p.status = com.catarse.engine.payment.entity.PaymentStatus.APPROVED "
+            + "AND p.rollupStatus IS NULL) OR (p.status = com.catarse.engine.payment.entity.PaymentStatus.REFUNDED "
+            + "AND (p.rollupStatus IS NULL OR p.rollupStatus = com.catarse.engine.payment.entity.PaymentStatus.APPROVED))) "
+            + "ORDER BY p.id")
+    List<PendingRollup> findPendingRollups(@Param("afterId") Long afterId, Limit limit);
+}
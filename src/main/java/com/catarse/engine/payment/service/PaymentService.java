@@ -1,4 +1,9 @@
 package com.catarse.engine.payment.service;
 
-public class PaymentService {
+import com.catarse.engine.payment.dto.request.PaymentWebhookRequest;
+import com.catarse.engine.payment.dto.response.WebhookAckResponse;
+
+public interface PaymentService {
+
+    WebhookAckResponse receiveWebhook(PaymentWebhookRequest request);
 }
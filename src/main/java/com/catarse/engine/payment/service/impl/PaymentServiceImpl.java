@@ -1,4 +1,29 @@
 package com.catarse.engine.payment.service.impl;
 
-public class PaymentServiceImpl {
+import com.catarse.engine.payment.dto.request.PaymentWebhookRequest;
+import com.catarse.engine.payment.dto.response.WebhookAckResponse;
+import com.catarse.engine.payment.service.PaymentService;
+import com.catarse.engine.payment.webhook.PaymentEventProcessor;
+import com.catarse.engine.payment.webhook.WebhookDeduplicator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentServiceImpl implements PaymentService {
+
+    private final WebhookDeduplicator webhookDeduplicator;
+    private final PaymentEventProcessor paymentEventProcessor;
+
+    @Override
+    public WebhookAckResponse receiveWebhook(PaymentWebhookRequest request) {
+        if (webhookDeduplicator.isDuplicate(request.getTransactionId(), request.getStatus())) {
+            return new WebhookAckResponse(request.getTransactionId(), WebhookAckResponse.Result.DUPLICATE);
+        }
+
+        // Só marca como visto depois de enfileirar: com a fila cheia o gateway precisa reenviar
+        paymentEventProcessor.submit(request);
+        webhookDeduplicator.markAccepted(request.getTransactionId(), request.getStatus());
+        return new WebhookAckResponse(request.getTransactionId(), WebhookAckResponse.Result.ACCEPTED);
+    }
 }
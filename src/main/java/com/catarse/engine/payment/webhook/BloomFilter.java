@@ -0,0 +1,93 @@
+package com.catarse.engine.payment.webhook;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter sem locks (bits em {@link AtomicLongArray}). Quando passa da
+ * capacidade prevista troca de geração e mantém a anterior, para a taxa de
+ * falso positivo não subir com o tempo.
+ */
+public class BloomFilter {
+
+    private final long expectedInsertions;
+    private final int numBits;
+    private final int numHashes;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.current = newBits();
+        this.previous = newBits();
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        return contains(current, hash) || contains(previous, hash);
+    }
+
+    public void put(String key) {
+        long hash = hash64(key);
+        AtomicLongArray bits = current;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int index = Math.floorMod(h1 + i * h2, numBits);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long value;
+            while (((value = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+                Thread.onSpinWait();
+            }
+        }
+        if (insertions.incrementAndGet() >= expectedInsertions) {
+            rotate(bits);
+        }
+    }
+
+    private synchronized void rotate(AtomicLongArray full) {
+        if (current == full) {
+            previous = full;
+            current = newBits();
+            insertions.set(0);
+        }
+    }
+
+    private boolean contains(AtomicLongArray bits, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            int index = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AtomicLongArray newBits() {
+        return new AtomicLongArray((numBits + 63) >>> 6);
+    }
+
+    // FNV-1a de 64 bits com finalizador do MurmurHash3
+    private static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
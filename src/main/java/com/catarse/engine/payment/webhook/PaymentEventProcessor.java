@@ -0,0 +1,507 @@
+package com.catarse.engine.payment.webhook;
+
+import com.catarse.engine.campaign.analytics.CampaignRollupAccumulator;
+import com.catarse.engine.deadletter.DeadLetterStore;
+import com.catarse.engine.deadletter.TransientFailures;
+import com.catarse.engine.donation.accumulator.CampaignTotalAccumulator;
+import com.catarse.engine.donation.entity.Donation;
+import com.catarse.engine.donation.repository.DonationRepository;
+import com.catarse.engine.exception.ServiceUnavailableException;
+import com.catarse.engine.money.Money;
+import com.catarse.engine.outbox.OutboxWriter;
+import com.catarse.engine.outbox.payload.PaymentSettledPayload;
+import com.catarse.engine.payment.dto.request.PaymentWebhookRequest;
+import com.catarse.engine.payment.entity.Payment;
+import com.catarse.engine.payment.entity.PaymentStatus;
+import com.catarse.engine.payment.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica os eventos de webhook de forma assíncrona. Cada transação cai sempre
+ * na mesma fila (hash do transactionId), então seus eventos são aplicados na
+ * ordem de chegada sem lock global; filas diferentes andam em paralelo.
+ * <p>
+ * Cada fila drena micro-lotes: um SELECT para os pagamentos do lote, um para
+ * as doações, insert/update em lote e os eventos de aprovação e estorno no
+ * outbox, na mesma transação. Depois do commit o valor das doações aprovadas
+ * (ou estornadas) vai para o {@link CampaignTotalAccumulator} e para os baldes
+ * de analytics ({@link CampaignRollupAccumulator}).
+ * <p>
+ * O id da doação sai no 202 do pedido, antes do insert assíncrono; uma
+ * aprovação que chega com a doação ainda na fila de ingestão fica estacionada
+ * na fila do pagamento e é aplicada quando a doação aparece no banco. Passado
+ * {@code park-timeout} a fila desiste; o pagamento continua APPROVED e a
+ * recuperação periódica do acumulador soma quando a doação aparecer.
+ * <p>
+ * Uma doação conta uma vez no total: aprovação de doação já somada, ou que já
+ * tem outro pagamento aprovado, é duplicata e só vai para o log, para
+ * tratamento manual. Estorno não mexe no total enquanto outro pagamento da
+ * doação continua aprovado; fora isso, quem decide se há o que subtrair é a
+ * marca {@code donations.total_applied}, no flush do acumulador.
+ * <p>
+ * Falha transitória repete o lote inteiro com backoff; qualquer outra divide o
+ * lote ao meio, na ordem, até isolar o evento, que vai para a dead letter.
+ */
+@Slf4j
+@Component
+public class PaymentEventProcessor implements SmartLifecycle {
+
+    private static final String DEAD_LETTER_SOURCE = "payment-events";
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final long MAX_BACKOFF_MS = 5_000;
+
+    private final PaymentRepository paymentRepository;
+    private final DonationRepository donationRepository;
+    private final CampaignTotalAccumulator campaignTotalAccumulator;
+    private final CampaignRollupAccumulator campaignRollupAccumulator;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final DeadLetterStore deadLetterStore;
+
+    // Transações já vistas: negativo do filtro = pagamento novo, dispensa o SELECT
+    private final BloomFilter knownTransactions;
+
+    private final List<Lane> lanes;
+    private final List<Thread> workers = new ArrayList<>();
+    private final int batchSize;
+    private final long parkRetryNanos;
+    private final long parkTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private volatile boolean running;
+    // stop() passou do prazo: o que não foi aplicado vai para o log em vez de esperar o banco
+    private volatile boolean abandoned;
+
+    public PaymentEventProcessor(PaymentRepository paymentRepository,
+                                 DonationRepository donationRepository,
+                                 CampaignTotalAccumulator campaignTotalAccumulator,
+                                 CampaignRollupAccumulator campaignRollupAccumulator,
+                                 OutboxWriter outboxWriter,
+                                 TransactionTemplate transactionTemplate,
+                                 DeadLetterStore deadLetterStore,
+                                 @Value("${catarse.payments.webhook.lanes:8}") int laneCount,
+                                 @Value("${catarse.payments.webhook.lane-capacity:2000}") int laneCapacity,
+                                 @Value("${catarse.payments.webhook.batch-size:100}") int batchSize,
+                                 @Value("${catarse.payments.webhook.expected-transactions:1000000}") long expectedTransactions,
+                                 @Value("${catarse.payments.webhook.park-retry-interval:1s}") Duration parkRetryInterval,
+                                 @Value("${catarse.payments.webhook.park-timeout:10m}") Duration parkTimeout,
+                                 @Value("${catarse.payments.webhook.shutdown-timeout:20s}") Duration shutdownTimeout) {
+        this.paymentRepository = paymentRepository;
+        this.donationRepository = donationRepository;
+        this.campaignTotalAccumulator = campaignTotalAccumulator;
+        this.campaignRollupAccumulator = campaignRollupAccumulator;
+        this.outboxWriter = outboxWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.deadLetterStore = deadLetterStore;
+        this.knownTransactions = new BloomFilter(expectedTransactions, 0.01);
+        this.batchSize = batchSize;
+        this.parkRetryNanos = parkRetryInterval.toNanos();
+        this.parkTimeoutNanos = parkTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new Lane(new ArrayBlockingQueue<>(laneCapacity)));
+        }
+    }
+
+    public void submit(PaymentWebhookRequest event) {
+        if (!running) {
+            throw new ServiceUnavailableException("Payment webhook intake is not running", RETRY_AFTER_SECONDS);
+        }
+        Lane lane = lanes.get(Math.floorMod(event.getTransactionId().hashCode(), lanes.size()));
+        if (!lane.queue.offer(event)) {
+            throw new ServiceUnavailableException("Payment webhook queue is full, try again shortly", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    private void drainLoop(Lane lane) {
+        List<PaymentWebhookRequest> batch = new ArrayList<>(batchSize);
+        while ((running || !lane.queue.isEmpty()) && !abandoned) {
+            try {
+                PaymentWebhookRequest first = lane.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    lane.queue.drainTo(batch, batchSize - 1);
+                    applyWithRetry(lane, batch, false);
+                }
+                if (!lane.parked.isEmpty() && System.nanoTime() - lane.parkedRetriedAt >= parkRetryNanos) {
+                    retryParked(lane);
+                }
+            } catch (InterruptedException e) {
+                // stop() só interrompe depois do prazo, e aí marca abandoned antes
+                Thread.interrupted();
+            } finally {
+                batch.clear();
+            }
+        }
+        PaymentWebhookRequest left;
+        while ((left = lane.queue.poll()) != null) {
+            deadLetterStore.abandon(DEAD_LETTER_SOURCE, left.getTransactionId(), left);
+        }
+        if (!lane.parked.isEmpty()) {
+            // Pagamentos já gravados como APPROVED: a recuperação do acumulador soma quando a doação aparecer
+            log.warn("Stopping with {} approvals still waiting for their donation: {}", lane.parked.size(),
+                    lane.parked.keySet());
+        }
+    }
+
+    private void applyWithRetry(Lane lane, List<PaymentWebhookRequest> batch, boolean lookupAll) {
+        long backoffMs = 100;
+        while (true) {
+            try {
+                apply(lane, batch, lookupAll);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (!lookupAll) {
+                    // Filtro não conhecia uma transação que já está no banco (ex.: após restart): o índice único barrou
+                    lookupAll = true;
+                    continue;
+                }
+                splitOrDeadLetter(lane, batch, e);
+                return;
+            } catch (RuntimeException e) {
+                if (!TransientFailures.isTransient(e)) {
+                    splitOrDeadLetter(lane, batch, e);
+                    return;
+                }
+                if (abandoned) {
+                    batch.forEach(event -> deadLetterStore.abandon(DEAD_LETTER_SOURCE, event.getTransactionId(), event));
+                    return;
+                }
+                log.error("Failed to apply {} payment events, retrying in {} ms", batch.size(), backoffMs, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    // Metades na ordem de chegada: os eventos de uma transação continuam aplicados em sequência
+    private void splitOrDeadLetter(Lane lane, List<PaymentWebhookRequest> batch, RuntimeException error) {
+        if (batch.size() == 1) {
+            PaymentWebhookRequest event = batch.get(0);
+            deadLetterStore.write(DEAD_LETTER_SOURCE, event.getTransactionId(), event, error);
+            return;
+        }
+        log.warn("Failed to apply {} payment events, splitting the batch", batch.size(), error);
+        int middle = batch.size() / 2;
+        applyWithRetry(lane, batch.subList(0, middle), true);
+        applyWithRetry(lane, batch.subList(middle, batch.size()), true);
+    }
+
+    private void apply(Lane lane, List<PaymentWebhookRequest> batch, boolean lookupAll) {
+        List<TotalAdjustment> adjustments = new ArrayList<>();
+        List<Settlement> settlements = new ArrayList<>();
+        // Só valem depois do commit: um lote que volta é reaplicado do zero
+        Map<String, Parked> park = new HashMap<>();
+        Set<String> unpark = new HashSet<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> lookup = batch.stream()
+                    .map(PaymentWebhookRequest::getTransactionId)
+                    .filter(transactionId -> lookupAll || knownTransactions.mightContain(transactionId))
+                    .collect(Collectors.toSet());
+            Map<String, Payment> payments = lookup.isEmpty() ? new HashMap<>()
+                    : paymentRepository.findByTransactionIdIn(lookup).stream()
+                    .collect(Collectors.toMap(Payment::getTransactionId, Function.identity()));
+
+            Set<Long> donationIds = batch.stream()
+                    .filter(event -> event.getStatus() == PaymentStatus.APPROVED || event.getStatus() == PaymentStatus.REFUNDED)
+                    .map(PaymentWebhookRequest::getDonationId)
+                    .collect(Collectors.toSet());
+            Map<Long, Donation> donations = donationIds.isEmpty() ? Map.of()
+                    : donationRepository.findAllById(donationIds).stream()
+                    .collect(Collectors.toMap(Donation::getId, Function.identity()));
+            Map<Long, Set<String>> approvedBy = approvedBy(donationIds);
+
+            // Identidade: Payment é @Data e o hashCode muda com o status
+            Set<Payment> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (PaymentWebhookRequest event : batch) {
+                Payment payment = payments.get(event.getTransactionId());
+                PaymentStatus previous = null;
+                if (payment == null) {
+                    payment = newPayment(event);
+                    payments.put(event.getTransactionId(), payment);
+                } else if (payment.getStatus().canTransitionTo(event.getStatus())) {
+                    previous = payment.getStatus();
+                    payment.setStatus(event.getStatus());
+                } else {
+                    // Reenvio ou evento fora de ordem: o estado atual já é igual ou posterior
+                    continue;
+                }
+                changed.add(payment);
+
+                String transactionId = payment.getTransactionId();
+                Set<String> approved = approvedBy.computeIfAbsent(payment.getDonationId(), id -> new HashSet<>());
+                if (payment.getStatus() == PaymentStatus.APPROVED) {
+                    payment.setConfirmedAt(LocalDateTime.now());
+                    boolean duplicate = isCounted(donations.get(payment.getDonationId()), approved, transactionId);
+                    approved.add(transactionId);
+                    if (duplicate) {
+                        logDuplicate(payment, approved);
+                    } else if (donations.containsKey(payment.getDonationId())) {
+                        adjust(adjustments, settlements, donations, payment, false, true);
+                    } else {
+                        park.put(transactionId, new Parked(transactionId, payment.getDonationId(), System.nanoTime()));
+                    }
+                } else if (payment.getStatus() == PaymentStatus.REFUNDED && previous == PaymentStatus.APPROVED) {
+                    payment.setRefundedAt(LocalDateTime.now());
+                    approved.remove(transactionId);
+                    // Aprovação ainda estacionada: não saiu no outbox nem nos baldes
+                    boolean parked = park.remove(transactionId) != null
+                            || (lane.parked.containsKey(transactionId) && unpark.add(transactionId));
+                    if (!approved.isEmpty()) {
+                        log.warn("Payment {} refunded but donation {} is still paid by {}: campaign total unchanged",
+                                transactionId, payment.getDonationId(), approved);
+                        continue;
+                    }
+                    if (parked && !donations.containsKey(payment.getDonationId())) {
+                        continue;
+                    }
+                    // O flush só subtrai se a doação estiver somada
+                    adjust(adjustments, settlements, donations, payment, true, !parked);
+                }
+            }
+
+            paymentRepository.saveAll(changed);
+            // Depois do saveAll: pagamento novo só tem id após o persist
+            outboxWriter.append(settlements.stream().map(Settlement::toPayload).toList());
+        });
+
+        unpark.forEach(lane.parked::remove);
+        if (!park.isEmpty()) {
+            lane.parked.putAll(park);
+            log.debug("Parked {} approvals until their donations are recorded", park.size());
+        }
+        settle(adjustments, settlements);
+        Set<String> seen = new HashSet<>();
+        batch.forEach(event -> {
+            if (seen.add(event.getTransactionId())) {
+                knownTransactions.put(event.getTransactionId());
+            }
+        });
+    }
+
+    // Aprovações estacionadas cuja doação já foi gravada: aplicadas como se tivessem chegado agora
+    private void retryParked(Lane lane) {
+        lane.parkedRetriedAt = System.nanoTime();
+        List<TotalAdjustment> adjustments = new ArrayList<>();
+        List<Settlement> settlements = new ArrayList<>();
+        Set<String> resolved = new HashSet<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> donationIds = lane.parked.values().stream()
+                        .map(Parked::donationId)
+                        .collect(Collectors.toSet());
+                Map<Long, Donation> donations = donationRepository.findAllById(donationIds).stream()
+                        .collect(Collectors.toMap(Donation::getId, Function.identity()));
+                Set<String> ready = lane.parked.values().stream()
+                        .filter(parked -> donations.containsKey(parked.donationId()))
+                        .map(Parked::transactionId)
+                        .collect(Collectors.toSet());
+                if (ready.isEmpty()) {
+                    return;
+                }
+                List<Payment> payments = paymentRepository.findByTransactionIdIn(ready);
+                Map<Long, Set<String>> approvedBy = approvedBy(payments.stream()
+                        .map(Payment::getDonationId)
+                        .collect(Collectors.toSet()));
+                for (Payment payment : payments) {
+                    resolved.add(payment.getTransactionId());
+                    if (payment.getStatus() != PaymentStatus.APPROVED) {
+                        continue;
+                    }
+                    Set<String> approved = approvedBy.computeIfAbsent(payment.getDonationId(), id -> new HashSet<>());
+                    if (isCounted(donations.get(payment.getDonationId()), approved, payment.getTransactionId())) {
+                        logDuplicate(payment, approved);
+                    } else {
+                        adjust(adjustments, settlements, donations, payment, false, true);
+                    }
+                }
+                outboxWriter.append(settlements.stream().map(Settlement::toPayload).toList());
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to apply {} parked payment approvals, retrying later", lane.parked.size(), e);
+            return;
+        }
+        resolved.forEach(lane.parked::remove);
+        settle(adjustments, settlements);
+
+        long now = System.nanoTime();
+        lane.parked.values().removeIf(parked -> {
+            if (now - parked.parkedAt() < parkTimeoutNanos) {
+                return false;
+            }
+            // Fica APPROVED sem somar; a recuperação periódica do acumulador soma quando a doação aparecer
+            log.warn("Payment {} stopped waiting for donation {}; campaign total recovery will apply it",
+                    parked.transactionId(), parked.donationId());
+            return true;
+        });
+    }
+
+    private void settle(List<TotalAdjustment> adjustments, List<Settlement> settlements) {
+        adjustments.forEach(adjustment -> campaignTotalAccumulator.add(
+                adjustment.campaignId(), adjustment.donationId(), adjustment.amount()));
+        settlements.forEach(this::recordRollup);
+    }
+
+    private static Payment newPayment(PaymentWebhookRequest event) {
+        Payment payment = new Payment();
+        payment.setTransactionId(event.getTransactionId());
+        payment.setDonationId(event.getDonationId());
+        payment.setUserId(event.getUserId());
+        payment.setAmount(Money.of(event.getAmount()));
+        payment.setPaymentMethod(event.getPaymentMethod());
+        payment.setStatus(event.getStatus());
+        return payment;
+    }
+
+    // Pagamentos hoje APPROVED de cada doação, por transactionId
+    private Map<Long, Set<String>> approvedBy(Set<Long> donationIds) {
+        Map<Long, Set<String>> approved = new HashMap<>();
+        if (!donationIds.isEmpty()) {
+            paymentRepository.findByDonationIdInAndStatus(donationIds, PaymentStatus.APPROVED).forEach(payment ->
+                    approved.computeIfAbsent(payment.getDonationId(), id -> new HashSet<>())
+                            .add(payment.getTransactionId()));
+        }
+        return approved;
+    }
+
+    // Doação já somada, ou com outro pagamento aprovado (somado ou ainda pendente em algum acumulador)
+    private static boolean isCounted(Donation donation, Set<String> approved, String transactionId) {
+        return (donation != null && donation.isTotalApplied())
+                || approved.stream().anyMatch(other -> !other.equals(transactionId));
+    }
+
+    private static void logDuplicate(Payment payment, Set<String> approved) {
+        log.warn("Duplicate approval: payment {} for donation {} already counted (approved payments {}); "
+                + "not applied, needs manual review", payment.getTransactionId(), payment.getDonationId(), approved);
+    }
+
+    // O total da campanha usa o valor da doação, o mesmo que a recuperação do acumulador reaplica.
+    // settle = false: a aprovação nunca saiu no outbox nem nos baldes, então o estorno também não sai
+    private static void adjust(List<TotalAdjustment> adjustments, List<Settlement> settlements,
+                               Map<Long, Donation> donations, Payment payment, boolean refund, boolean settle) {
+        Donation donation = donations.get(payment.getDonationId());
+        if (donation == null) {
+            log.warn("Payment {} references unknown donation {}", payment.getTransactionId(), payment.getDonationId());
+            return;
+        }
+        if (!donation.getAmount().equals(payment.getAmount())) {
+            log.warn("Payment {} amount {} differs from donation {} amount {}", payment.getTransactionId(),
+                    payment.getAmount(), donation.getId(), donation.getAmount());
+        }
+        Money amount = refund ? donation.getAmount().negate() : donation.getAmount();
+        adjustments.add(new TotalAdjustment(donation.getCampaignId(), donation.getId(), amount));
+        if (!settle) {
+            return;
+        }
+        // Mesmo instante gravado no pagamento: a recuperação dos baldes usa confirmedAt/refundedAt
+        settlements.add(new Settlement(payment, donation, refund ? PaymentStatus.REFUNDED : PaymentStatus.APPROVED,
+                refund ? payment.getRefundedAt() : payment.getConfirmedAt()));
+    }
+
+    private void recordRollup(Settlement settlement) {
+        Donation donation = settlement.donation();
+        if (settlement.status() == PaymentStatus.APPROVED) {
+            campaignRollupAccumulator.recordApproval(settlement.payment().getId(), donation.getCampaignId(),
+                    donation.getUserId(), donation.getAmount(), settlement.at());
+        } else {
+            campaignRollupAccumulator.recordRefund(settlement.payment().getId(), donation.getCampaignId(),
+                    donation.getAmount(), settlement.at());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < lanes.size(); i++) {
+            Lane lane = lanes.get(i);
+            workers.add(Thread.ofPlatform().name("payment-webhook-" + i).start(() -> drainLoop(lane)));
+        }
+    }
+
+    // Espera as filas drenarem até o prazo; com o banco fora, o resto vai para o log e a parada segue
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        try {
+            for (Thread worker : workers) {
+                worker.join(Duration.ofNanos(Math.max(deadline - System.nanoTime(), 1)));
+            }
+            if (workers.stream().anyMatch(Thread::isAlive)) {
+                log.error("Payment events did not drain within {}, abandoning {} queued events", shutdownTimeout,
+                        lanes.stream().mapToInt(lane -> lane.queue.size()).sum());
+                abandoned = true;
+                workers.forEach(Thread::interrupt);
+                for (Thread worker : workers) {
+                    worker.join(Duration.ofSeconds(5));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Para depois do servidor web e antes do acumulador (fase 0)
+    @Override
+    public int getPhase() {
+        return 100;
+    }
+
+    private static final class Lane {
+        private final BlockingQueue<PaymentWebhookRequest> queue;
+        // Aprovações esperando a doação, por transactionId; só a thread da fila mexe
+        private final Map<String, Parked> parked = new LinkedHashMap<>();
+        private long parkedRetriedAt;
+
+        private Lane(BlockingQueue<PaymentWebhookRequest> queue) {
+            this.queue = queue;
+        }
+    }
+
+    private record Parked(String transactionId, Long donationId, long parkedAt) {
+    }
+
+    private record TotalAdjustment(Long campaignId, Long donationId, Money amount) {
+    }
+
+    // Status guardado à parte: aprovação e estorno no mesmo lote mudam o mesmo Payment
+    private record Settlement(Payment payment, Donation donation, PaymentStatus status, LocalDateTime at) {
+
+        PaymentSettledPayload toPayload() {
+            return new PaymentSettledPayload(payment.getId(), payment.getTransactionId(), donation.getId(),
+                    donation.getCampaignId(), payment.getUserId(), donation.getAmount(), status,
+                    payment.getPaymentMethod(), at);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.catarse.engine.payment.webhook;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Descarta reenvios do gateway em tempo constante: guarda os eventos
+ * (transactionId + status) aceitos recentemente num LRU limitado. O que escapar
+ * daqui é barrado pela máquina de estados do {@link PaymentEventProcessor} e
+ * pelo índice único de transaction_id.
+ */
+@Component
+public class WebhookDeduplicator {
+
+    private final Cache<String, Boolean> recentEvents;
+
+    public WebhookDeduplicator(@Value("${catarse.payments.webhook.dedupe-size:100000}") long maximumSize) {
+        this.recentEvents = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofHours(6))
+                .build();
+    }
+
+    public boolean isDuplicate(String transactionId, Object status) {
+        return recentEvents.getIfPresent(key(transactionId, status)) != null;
+    }
+
+    public void markAccepted(String transactionId, Object status) {
+        recentEvents.put(key(transactionId, status), Boolean.TRUE);
+    }
+
+    private static String key(String transactionId, Object status) {
+        return transactionId + ':' + status;
+    }
+}
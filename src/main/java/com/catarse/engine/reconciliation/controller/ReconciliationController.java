@@ -0,0 +1,37 @@
+package com.catarse.engine.reconciliation.controller;
+
+import com.catarse.engine.reconciliation.dto.response.ReconciliationDriftResponse;
+import com.catarse.engine.reconciliation.dto.response.ReconciliationRunResponse;
+import com.catarse.engine.reconciliation.entity.ReconciliationMode;
+import com.catarse.engine.reconciliation.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/reconciliation/runs")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    // Roda em segundo plano; acompanhe pelo GET. CORRECT também ajusta campaigns.current_amount
+    @PostMapping
+    public ResponseEntity<ReconciliationRunResponse> startRun(
+            @RequestParam(defaultValue = "REPORT") ReconciliationMode mode) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.startRun(mode));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReconciliationRunResponse> getRun(@PathVariable Long id) {
+        return ResponseEntity.ok(reconciliationService.getRun(id));
+    }
+
+    @GetMapping("/{id}/drifts")
+    public ResponseEntity<Page<ReconciliationDriftResponse>> getDrifts(@PathVariable Long id, Pageable pageable) {
+        return ResponseEntity.ok(reconciliationService.getDrifts(id, pageable));
+    }
+}
@@ -0,0 +1,19 @@
+package com.catarse.engine.reconciliation.dto.response;
+
+import com.catarse.engine.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationDriftResponse {
+    private Long campaignId;
+    private Money expectedAmount;
+    private Money recordedAmount;
+    private boolean corrected;
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,27 @@
+package com.catarse.engine.reconciliation.dto.response;
+
+import com.catarse.engine.money.Money;
+import com.catarse.engine.reconciliation.entity.ReconciliationMode;
+import com.catarse.engine.reconciliation.entity.ReconciliationStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ReconciliationRunResponse {
+    private Long id;
+    private ReconciliationMode mode;
+    private ReconciliationStatus status;
+    private long maxPaymentId;
+    private long rangesTotal;
+    private long rangesDone;
+    private long paymentsScanned;
+    private long amountMismatches;
+    private long unappliedPayments;
+    private Money unappliedAmount;
+    private long driftsFound;
+    private long driftsCorrected;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
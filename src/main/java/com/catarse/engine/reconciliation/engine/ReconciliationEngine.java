@@ -0,0 +1,489 @@
+package com.catarse.engine.reconciliation.engine;
+
+import com.catarse.engine.campaign.cache.CampaignCache;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
+import com.catarse.engine.campaign.repository.CampaignRepository;
+import com.catarse.engine.donation.accumulator.CampaignTotalAccumulator;
+import com.catarse.engine.exception.ServiceUnavailableException;
+import com.catarse.engine.money.Money;
+import com.catarse.engine.reconciliation.entity.ReconciliationDrift;
+import com.catarse.engine.reconciliation.entity.ReconciliationMode;
+import com.catarse.engine.reconciliation.entity.ReconciliationRun;
+import com.catarse.engine.reconciliation.entity.ReconciliationStatus;
+import com.catarse.engine.reconciliation.repository.ReconciliationDriftRepository;
+import com.catarse.engine.reconciliation.repository.ReconciliationRunRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Confere {@code campaigns.current_amount} com a soma das doações marcadas como
+ * somadas ({@code donations.total_applied}). O {@link CampaignTotalAccumulator}
+ * muda a marca e o total na mesma transação, então a comparação não depende do
+ * que ainda está pendente em memória neste ou em outro nó.
+ * <p>
+ * Varredura: os ids de pagamento da execução são divididos em faixas fixas,
+ * processadas em paralelo num fork-join. Cada faixa lê com cursor só para
+ * frente (fetch size) em transação read-only, soma por campanha num
+ * {@link LongLongHashMap} e grava a soma em {@code reconciliation_totals}
+ * junto com o checkpoint da faixa. A memória fica limitada ao número de
+ * campanhas, não ao de pagamentos, e uma execução interrompida retoma pulando
+ * as faixas com checkpoint.
+ * <p>
+ * Comparação: as campanhas cuja soma difere do total gravado são checadas de
+ * novo no primário, duas vezes com um intervalo entre elas. A varredura lê
+ * faixa a faixa enquanto os flushes continuam, então uma diferença dela é só
+ * candidata. A checagem lê total gravado e soma das doações marcadas numa
+ * única consulta (o mesmo snapshot) e não descarrega o acumulador: o pendente
+ * em memória não está em nenhum dos dois lados. Só a divergência igual nas
+ * duas leituras conta. A correção soma a diferença (em vez de sobrescrever),
+ * então não perde incrementos concorrentes do acumulador.
+ * <p>
+ * Aprovação ainda em memória não gera divergência. Falso positivo possível:
+ * outra execução, em outro nó, que corrige a mesma campanha entre a segunda
+ * leitura e a gravação desta (em CORRECT a diferença seria somada duas
+ * vezes). Também aparece como divergência {@code current_amount} ou
+ * {@code total_applied} alterado à mão só de um lado.
+ * <p>
+ * Pagamento aprovado há mais de {@code unapplied-grace} e ainda fora do total
+ * não é divergência do total: é um flush que não aconteceu. Sai à parte, em
+ * {@code unapplied_payments} e {@code unapplied_amount} da execução.
+ */
+@Slf4j
+@Component
+public class ReconciliationEngine implements SmartLifecycle {
+
+    private static final long RETRY_AFTER_SECONDS = 30;
+
+    private static final String PAYMENT_BOUNDS_SQL = "SELECT MIN(id), MAX(id) FROM payments";
+    // Estornado ainda somado entra na soma, como no total gravado, até o flush tirar
+    private static final String SCAN_SQL =
+            "SELECT d.campaign_id, d.amount, p.amount, d.total_applied, p.status FROM payments p"
+                    + " JOIN donations d ON d.id = p.donation_id"
+                    + " WHERE p.id >= ? AND p.id < ? AND p.status IN ('APPROVED', 'REFUNDED')";
+    private static final String DONE_RANGES_SQL = "SELECT range_start FROM reconciliation_checkpoints WHERE run_id = ?";
+    private static final String ADD_TOTAL_SQL =
+            "INSERT INTO reconciliation_totals (run_id, campaign_id, cents) VALUES (?, ?, ?)"
+                    + " ON DUPLICATE KEY UPDATE cents = cents + VALUES(cents)";
+    private static final String CHECKPOINT_SQL =
+            "INSERT INTO reconciliation_checkpoints (run_id, range_start) VALUES (?, ?)";
+    private static final String COMPARE_SQL =
+            "SELECT c.id, c.current_amount, t.cents FROM campaigns c"
+                    + " LEFT JOIN reconciliation_totals t ON t.campaign_id = c.id AND t.run_id = ? ORDER BY c.id";
+    // Total gravado e soma das doações marcadas no mesmo comando: um flush nunca fica entre os dois
+    private static final String SNAPSHOT_SQL =
+            "SELECT c.id, c.current_amount, (SELECT COALESCE(SUM(d.amount), 0) FROM donations d"
+                    + " WHERE d.campaign_id = c.id AND d.total_applied = true) FROM campaigns c WHERE c.id IN (:ids)";
+    private static final String UNAPPLIED_SQL =
+            "SELECT COUNT(*), SUM(d.amount) FROM payments p JOIN donations d ON d.id = p.donation_id"
+                    + " WHERE p.status = 'APPROVED' AND d.total_applied = false AND p.confirmed_at < ?";
+    // Retomada na fase de comparação: divergências só reportadas são detectadas de novo
+    private static final String RESET_REPORTED_SQL = "DELETE FROM reconciliation_drifts WHERE run_id = ? AND corrected = false";
+    private static final String RESET_FOUND_SQL = "UPDATE reconciliation_runs SET drifts_found = drifts_corrected WHERE id = ?";
+    private static final String CORRECT_SQL =
+            "UPDATE campaigns SET current_amount = current_amount + ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate scanJdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationDriftRepository driftRepository;
+    private final CampaignRepository campaignRepository;
+    private final CampaignCache campaignCache;
+    private final CampaignRankingIndex campaignRankingIndex;
+
+    private final long rangeSize;
+    private final int parallelism;
+    private final int verifyChunk;
+    private final Duration settle;
+    private final Duration unappliedGrace;
+    private final boolean resumeOnStartup;
+    private final ReconciliationMode scheduledMode;
+
+    private Thread coordinator;
+    private volatile Long activeRunId;
+    private volatile boolean stopping;
+    private volatile boolean running;
+
+    public ReconciliationEngine(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ReconciliationRunRepository runRepository,
+                                ReconciliationDriftRepository driftRepository,
+                                CampaignRepository campaignRepository,
+                                CampaignCache campaignCache,
+                                CampaignRankingIndex campaignRankingIndex,
+                                @Value("${catarse.reconciliation.range-size:500000}") long rangeSize,
+                                @Value("${catarse.reconciliation.parallelism:4}") int parallelism,
+                                @Value("${catarse.reconciliation.fetch-size:1000}") int fetchSize,
+                                @Value("${catarse.reconciliation.verify-chunk:500}") int verifyChunk,
+                                @Value("${catarse.reconciliation.settle:2s}") Duration settle,
+                                @Value("${catarse.reconciliation.unapplied-grace:1m}") Duration unappliedGrace,
+                                @Value("${catarse.reconciliation.resume-on-startup:true}") boolean resumeOnStartup,
+                                @Value("${catarse.reconciliation.scheduled-mode:REPORT}") ReconciliationMode scheduledMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scanJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanJdbcTemplate.setFetchSize(fetchSize);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.runRepository = runRepository;
+        this.driftRepository = driftRepository;
+        this.campaignRepository = campaignRepository;
+        this.campaignCache = campaignCache;
+        this.campaignRankingIndex = campaignRankingIndex;
+        this.rangeSize = rangeSize;
+        this.parallelism = parallelism;
+        this.verifyChunk = verifyChunk;
+        this.settle = settle;
+        this.unappliedGrace = unappliedGrace;
+        this.resumeOnStartup = resumeOnStartup;
+        this.scheduledMode = scheduledMode;
+    }
+
+    /**
+     * Começa uma execução em segundo plano e devolve o registro dela. Se há uma
+     * rodando, devolve essa; se há uma interrompida, retoma essa (no modo dela).
+     */
+    public synchronized ReconciliationRun start(ReconciliationMode mode) {
+        if (!running) {
+            throw new ServiceUnavailableException("Reconciliation engine is not running", RETRY_AFTER_SECONDS);
+        }
+        if (activeRunId != null) {
+            return runRepository.findById(activeRunId).orElseThrow();
+        }
+        ReconciliationRun run = runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING)
+                .orElseGet(() -> create(mode));
+        launch(run);
+        return run;
+    }
+
+    // Desligado por padrão: catarse.reconciliation.cron="-"
+    @Scheduled(cron = "${catarse.reconciliation.cron:-}")
+    public void scheduledRun() {
+        start(scheduledMode);
+    }
+
+    private ReconciliationRun create(ReconciliationMode mode) {
+        long[] bounds = jdbcTemplate.queryForObject(PAYMENT_BOUNDS_SQL, (rs, rowNum) -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? new long[]{1L, 0L} : new long[]{min, rs.getLong(2)};
+        });
+        ReconciliationRun run = new ReconciliationRun();
+        run.setMode(mode);
+        run.setStatus(ReconciliationStatus.RUNNING);
+        run.setMinPaymentId(bounds[0]);
+        run.setMaxPaymentId(bounds[1]);
+        run.setRangeSize(rangeSize);
+        run.setRangesTotal(bounds[1] < bounds[0] ? 0 : (bounds[1] - bounds[0]) / rangeSize + 1);
+        run.setStartedAt(LocalDateTime.now());
+        return runRepository.save(run);
+    }
+
+    private void launch(ReconciliationRun run) {
+        activeRunId = run.getId();
+        coordinator = Thread.ofPlatform().name("reconciliation-" + run.getId()).start(() -> execute(run));
+    }
+
+    private void execute(ReconciliationRun run) {
+        long startedAt = System.nanoTime();
+        try {
+            scan(run);
+            compare(run);
+            reportUnapplied(run);
+            finish(run.getId(), ReconciliationStatus.COMPLETED, null);
+            ReconciliationRun finished = runRepository.findById(run.getId()).orElseThrow();
+            log.info("Reconciliation run {} completed in {} s: {} payments, {} drifts, {} corrected, {} unapplied",
+                    run.getId(), TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt),
+                    finished.getPaymentsScanned(), finished.getDriftsFound(), finished.getDriftsCorrected(),
+                    finished.getUnappliedPayments());
+        } catch (Interrupted e) {
+            // Continua RUNNING: a próxima subida retoma do último checkpoint
+            log.info("Reconciliation run {} interrupted, will resume from checkpoint", run.getId());
+        } catch (RuntimeException e) {
+            log.error("Reconciliation run {} failed", run.getId(), e);
+            String message = String.valueOf(e.getMessage());
+            finish(run.getId(), ReconciliationStatus.FAILED,
+                    message.length() > 500 ? message.substring(0, 500) : message);
+        } finally {
+            activeRunId = null;
+        }
+    }
+
+    // Apaga os parciais e fecha a execução na mesma transação: sem checkpoints, uma execução RUNNING não pode sobrar
+    private void finish(Long runId, ReconciliationStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.update("DELETE FROM reconciliation_totals WHERE run_id = ?", runId);
+            jdbcTemplate.update("DELETE FROM reconciliation_checkpoints WHERE run_id = ?", runId);
+            runRepository.finish(runId, status, LocalDateTime.now(), error);
+        });
+    }
+
+    private void scan(ReconciliationRun run) {
+        if (run.getRangesTotal() == 0) {
+            return;
+        }
+        Set<Long> done = new HashSet<>(jdbcTemplate.queryForList(DONE_RANGES_SQL, Long.class, run.getId()));
+        ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("reconciliation-scan-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            pool.invoke(new RangeTask(run, done, 0, run.getRangesTotal()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Divide as faixas [from, to) ao meio até sobrar uma; faixa com checkpoint já está somada
+    private final class RangeTask extends RecursiveAction {
+
+        private final ReconciliationRun run;
+        private final Set<Long> done;
+        private final long from;
+        private final long to;
+
+        private RangeTask(ReconciliationRun run, Set<Long> done, long from, long to) {
+            this.run = run;
+            this.done = done;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                long mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(run, done, from, mid), new RangeTask(run, done, mid, to));
+                return;
+            }
+            long rangeStart = run.getMinPaymentId() + from * run.getRangeSize();
+            if (!done.contains(rangeStart)) {
+                scanRange(run, rangeStart);
+            }
+        }
+    }
+
+    private void scanRange(ReconciliationRun run, long rangeStart) {
+        checkStopping();
+        long rangeEnd = Math.min(rangeStart + run.getRangeSize(), run.getMaxPaymentId() + 1);
+        LongLongHashMap totals = new LongLongHashMap(1024);
+        long[] counts = new long[2];
+
+        // Réplica quando houver: a checagem final no primário absorve o atraso
+        readOnlyTransactionTemplate.executeWithoutResult(status -> scanJdbcTemplate.query(SCAN_SQL, rs -> {
+            checkStopping();
+            long donationCents = Money.of(rs.getBigDecimal(2)).cents();
+            if (rs.getBoolean(4)) {
+                totals.addTo(rs.getLong(1), donationCents);
+            }
+            if ("APPROVED".equals(rs.getString(5))) {
+                counts[0]++;
+                if (donationCents != Money.of(rs.getBigDecimal(3)).cents()) {
+                    counts[1]++;
+                }
+            }
+        }, rangeStart, rangeEnd));
+
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((campaignId, cents) -> rows.add(new Object[]{run.getId(), campaignId, cents}));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(ADD_TOTAL_SQL, rows);
+            jdbcTemplate.update(CHECKPOINT_SQL, run.getId(), rangeStart);
+            runRepository.addRangeProgress(run.getId(), counts[0], counts[1]);
+        });
+    }
+
+    private void compare(ReconciliationRun run) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(RESET_REPORTED_SQL, run.getId());
+            jdbcTemplate.update(RESET_FOUND_SQL, run.getId());
+        });
+        List<Long> candidates = new ArrayList<>();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> scanJdbcTemplate.query(COMPARE_SQL, rs -> {
+            long expected = rs.getLong(3);
+            if (expected != cents(rs.getBigDecimal(2))) {
+                candidates.add(rs.getLong(1));
+            }
+        }, run.getId()));
+        log.info("Reconciliation run {}: {} campaigns to verify", run.getId(), candidates.size());
+
+        for (int from = 0; from < candidates.size(); from += verifyChunk) {
+            checkStopping();
+            verify(run, candidates.subList(from, Math.min(from + verifyChunk, candidates.size())));
+        }
+    }
+
+    private void verify(ReconciliationRun run, List<Long> campaignIds) {
+        Map<Long, Snapshot> first = snapshot(campaignIds);
+        first.values().removeIf(snapshot -> snapshot.delta() == 0);
+        if (first.isEmpty()) {
+            return;
+        }
+        LockSupport.parkNanos(settle.toNanos());
+        Map<Long, Snapshot> second = snapshot(new ArrayList<>(first.keySet()));
+
+        List<Snapshot> confirmed = new ArrayList<>();
+        second.forEach((campaignId, snapshot) -> {
+            Snapshot previous = first.get(campaignId);
+            if (snapshot.delta() != 0 && previous != null && previous.delta() == snapshot.delta()) {
+                confirmed.add(snapshot);
+            }
+        });
+        if (!confirmed.isEmpty()) {
+            record(run, confirmed);
+        }
+    }
+
+    // As duas somas lidas num só comando, no primário (transação não read-only)
+    private Map<Long, Snapshot> snapshot(List<Long> campaignIds) {
+        return transactionTemplate.execute(status -> {
+            Map<Long, Snapshot> snapshots = new HashMap<>();
+            namedJdbcTemplate.query(SNAPSHOT_SQL, new MapSqlParameterSource("ids", campaignIds), rs -> {
+                long campaignId = rs.getLong(1);
+                snapshots.put(campaignId, new Snapshot(campaignId, cents(rs.getBigDecimal(3)),
+                        cents(rs.getBigDecimal(2))));
+            });
+            return snapshots;
+        });
+    }
+
+    private void record(ReconciliationRun run, List<Snapshot> confirmed) {
+        boolean correct = run.getMode() == ReconciliationMode.CORRECT;
+        List<Long> ids = confirmed.stream().map(Snapshot::campaignId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            driftRepository.saveAll(confirmed.stream().map(snapshot -> {
+                ReconciliationDrift drift = new ReconciliationDrift();
+                drift.setRunId(run.getId());
+                drift.setCampaignId(snapshot.campaignId());
+                drift.setExpectedAmount(Money.ofCents(snapshot.expectedCents()));
+                drift.setRecordedAmount(Money.ofCents(snapshot.recordedCents()));
+                drift.setCorrected(correct);
+                return drift;
+            }).toList());
+            if (correct) {
+                jdbcTemplate.batchUpdate(CORRECT_SQL, confirmed.stream()
+                        .map(snapshot -> new Object[]{Money.ofCents(snapshot.delta()).toBigDecimal(), now,
+                                snapshot.campaignId()})
+                        .toList());
+                campaignRepository.markGoalReached(ids, now);
+            }
+            runRepository.addDrifts(run.getId(), confirmed.size(), correct ? confirmed.size() : 0);
+        });
+        confirmed.forEach(snapshot -> log.warn("Campaign {} total drift: recorded {} expected {}{}",
+                snapshot.campaignId(), Money.ofCents(snapshot.recordedCents()),
+                Money.ofCents(snapshot.expectedCents()), correct ? " (corrected)" : ""));
+        if (correct) {
+            confirmed.forEach(snapshot ->
+                    campaignRankingIndex.adjustTotal(snapshot.campaignId(), Money.ofCents(snapshot.delta())));
+            campaignCache.evictAll(ids);
+        }
+    }
+
+    // Sobrescreve: uma execução retomada conta de novo
+    private void reportUnapplied(ReconciliationRun run) {
+        LocalDateTime approvedBefore = LocalDateTime.now().minus(unappliedGrace);
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] count = new long[1];
+            BigDecimal[] amount = new BigDecimal[1];
+            jdbcTemplate.query(UNAPPLIED_SQL, rs -> {
+                count[0] = rs.getLong(1);
+                amount[0] = rs.getBigDecimal(2);
+            }, approvedBefore);
+            runRepository.setUnapplied(run.getId(), count[0], Money.ofCents(cents(amount[0])));
+            if (count[0] > 0) {
+                log.warn("Reconciliation run {}: {} payments approved before {} not applied to campaign totals ({})",
+                        run.getId(), count[0], approvedBefore, Money.ofCents(cents(amount[0])));
+            }
+        });
+    }
+
+    private void checkStopping() {
+        if (stopping) {
+            throw new Interrupted();
+        }
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0L : Money.of(amount).cents();
+    }
+
+    @Override
+    public void start() {
+        stopping = false;
+        running = true;
+        if (resumeOnStartup) {
+            runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING).ifPresent(run -> {
+                log.info("Resuming reconciliation run {} ({} of {} ranges done)",
+                        run.getId(), run.getRangesDone(), run.getRangesTotal());
+                launch(run);
+            });
+        }
+    }
+
+    @Override
+    public void stop() {
+        stopping = true;
+        running = false;
+        Thread current = coordinator;
+        if (current != null) {
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Depois do índice de ranking (fase 50), que a correção atualiza
+    @Override
+    public int getPhase() {
+        return 100;
+    }
+
+    private record Snapshot(long campaignId, long expectedCents, long recordedCents) {
+
+        long delta() {
+            return expectedCents - recordedCents;
+        }
+    }
+
+    // Parada do processo no meio da execução; não é falha
+    private static final class Interrupted extends RuntimeException {
+
+        private Interrupted() {
+            super(null, null, false, false);
+        }
+    }
+}
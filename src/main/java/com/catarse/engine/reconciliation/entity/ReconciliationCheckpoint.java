@@ -0,0 +1,30 @@
+package com.catarse.engine.reconciliation.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Faixa de ids de pagamento já somada numa execução. Gravada na mesma
+ * transação que soma a faixa em {@code reconciliation_totals}: ao retomar,
+ * faixa com checkpoint é pulada e nenhuma é contada duas vezes. Só define o
+ * esquema; o motor usa JDBC direto.
+ */
+@Entity
+@Table(name = "reconciliation_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reconciliation_checkpoints_run_range", columnNames = {"run_id", "range_start"})
+})
+@Data
+@NoArgsConstructor
+public class ReconciliationCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "range_start", nullable = false)
+    private long rangeStart;
+}
@@ -0,0 +1,44 @@
+package com.catarse.engine.reconciliation.entity;
+
+import com.catarse.engine.money.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Campanha cujo total gravado não bate com as doações somadas, confirmada em duas leituras
+@Entity
+@Table(name = "reconciliation_drifts", indexes = {
+        @Index(name = "idx_reconciliation_drifts_run_id_id", columnList = "run_id, id")
+})
+@Data
+@NoArgsConstructor
+public class ReconciliationDrift {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    // Soma das doações marcadas como somadas (total_applied)
+    @Column(name = "expected_amount", nullable = false, precision = 18, scale = 2)
+    private Money expectedAmount;
+
+    // campaigns.current_amount no momento da checagem
+    @Column(name = "recorded_amount", nullable = false, precision = 18, scale = 2)
+    private Money recordedAmount;
+
+    @Column(nullable = false)
+    private boolean corrected;
+
+    @CreationTimestamp
+    @Column(name = "detected_at", updatable = false)
+    private LocalDateTime detectedAt;
+}
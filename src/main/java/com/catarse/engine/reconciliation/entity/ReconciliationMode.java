@@ -0,0 +1,8 @@
+package com.catarse.engine.reconciliation.entity;
+
+public enum ReconciliationMode {
+    // Só registra as divergências
+    REPORT,
+    // Registra e corrige campaigns.current_amount
+    CORRECT
+}
@@ -0,0 +1,78 @@
+package com.catarse.engine.reconciliation.entity;
+
+import com.catarse.engine.money.Money;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma execução da conciliação. Os limites de id dos pagamentos e o tamanho da
+ * faixa ficam fixos na criação, então as faixas são as mesmas ao retomar uma
+ * execução interrompida; os contadores avançam a cada faixa concluída.
+ */
+@Entity
+@Table(name = "reconciliation_runs", indexes = {
+        @Index(name = "idx_reconciliation_runs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReconciliationMode mode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReconciliationStatus status;
+
+    // Faixa de ids [minPaymentId, maxPaymentId] varrida; pagamentos criados depois ficam para a próxima
+    @Column(name = "min_payment_id", nullable = false)
+    private long minPaymentId;
+
+    @Column(name = "max_payment_id", nullable = false)
+    private long maxPaymentId;
+
+    @Column(name = "range_size", nullable = false)
+    private long rangeSize;
+
+    @Column(name = "ranges_total", nullable = false)
+    private long rangesTotal;
+
+    @Column(name = "ranges_done", nullable = false)
+    private long rangesDone;
+
+    @Column(name = "payments_scanned", nullable = false)
+    private long paymentsScanned;
+
+    // Pagamentos aprovados com valor diferente do da doação (o total usa o da doação)
+    @Column(name = "amount_mismatches", nullable = false)
+    private long amountMismatches;
+
+    // Pagamentos aprovados há mais de unapplied-grace ainda fora do total (flush perdido), no fim da execução
+    @Column(name = "unapplied_payments", nullable = false)
+    private long unappliedPayments;
+
+    @Column(name = "unapplied_amount", precision = 18, scale = 2)
+    private Money unappliedAmount;
+
+    @Column(name = "drifts_found", nullable = false)
+    private long driftsFound;
+
+    @Column(name = "drifts_corrected", nullable = false)
+    private long driftsCorrected;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 500)
+    private String error;
+}
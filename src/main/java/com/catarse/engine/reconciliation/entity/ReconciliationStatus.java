@@ -0,0 +1,7 @@
+package com.catarse.engine.reconciliation.entity;
+
+public enum ReconciliationStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
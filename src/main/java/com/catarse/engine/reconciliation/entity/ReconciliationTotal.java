@@ -0,0 +1,28 @@
+package com.catarse.engine.reconciliation.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Soma parcial, em centavos, dos pagamentos aprovados de uma campanha nas faixas já concluídas da execução
+@Entity
+@Table(name = "reconciliation_totals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_reconciliation_totals_run_campaign", columnNames = {"run_id", "campaign_id"})
+})
+@Data
+@NoArgsConstructor
+public class ReconciliationTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(nullable = false)
+    private long cents;
+}
@@ -0,0 +1,13 @@
+package com.catarse.engine.reconciliation.repository;
+
+import com.catarse.engine.reconciliation.entity.ReconciliationDrift;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReconciliationDriftRepository extends JpaRepository<ReconciliationDrift, Long> {
+
+    Page<ReconciliationDrift> findByRunIdOrderById(Long runId, Pageable pageable);
+}
@@ -0,0 +1,41 @@
+package com.catarse.engine.reconciliation.repository;
+
+import com.catarse.engine.money.Money;
+import com.catarse.engine.reconciliation.entity.ReconciliationRun;
+import com.catarse.engine.reconciliation.entity.ReconciliationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    // Execução interrompida (queda ou restart) para retomar do último checkpoint
+    Optional<ReconciliationRun> findFirstByStatusOrderByIdDesc(ReconciliationStatus status);
+
+    // Contadores somados por faixa concluída; várias faixas terminam ao mesmo tempo
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.rangesDone = r.rangesDone + 1, "
+            + "r.paymentsScanned = r.paymentsScanned + :scanned, r.amountMismatches = r.amountMismatches + :mismatches "
+            + "WHERE r.id = :id")
+    int addRangeProgress(@Param("id") Long id, @Param("scanned") long scanned, @Param("mismatches") long mismatches);
+
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.driftsFound = r.driftsFound + :found, "
+            + "r.driftsCorrected = r.driftsCorrected + :corrected WHERE r.id = :id")
+    int addDrifts(@Param("id") Long id, @Param("found") long found, @Param("corrected") long corrected);
+
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.unappliedPayments = :count, r.unappliedAmount = :amount WHERE r.id = :id")
+    int setUnapplied(@Param("id") Long id, @Param("count") long count, @Param("amount") Money amount);
+
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.status = :status, r.finishedAt = :now, r.error = :error WHERE r.id = :id")
+    int finish(@Param("id") Long id, @Param("status") ReconciliationStatus status,
+               @Param("now") LocalDateTime now, @Param("error") String error);
+}
@@ -0,0 +1,17 @@
+package com.catarse.engine.reconciliation.service;
+
+import com.catarse.engine.reconciliation.dto.response.ReconciliationDriftResponse;
+import com.catarse.engine.reconciliation.dto.response.ReconciliationRunResponse;
+import com.catarse.engine.reconciliation.entity.ReconciliationMode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ReconciliationService {
+
+    // Nova execução, a que já está rodando ou a interrompida (retomada)
+    ReconciliationRunResponse startRun(ReconciliationMode mode);
+
+    ReconciliationRunResponse getRun(Long runId);
+
+    Page<ReconciliationDriftResponse> getDrifts(Long runId, Pageable pageable);
+}
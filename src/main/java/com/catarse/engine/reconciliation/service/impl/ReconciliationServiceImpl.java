@@ -0,0 +1,74 @@
+package com.catarse.engine.reconciliation.service.impl;
+
+import com.catarse.engine.exception.ResourceNotFoundException;
+import com.catarse.engine.reconciliation.dto.response.ReconciliationDriftResponse;
+import com.catarse.engine.reconciliation.dto.response.ReconciliationRunResponse;
+import com.catarse.engine.reconciliation.engine.ReconciliationEngine;
+import com.catarse.engine.reconciliation.entity.ReconciliationDrift;
+import com.catarse.engine.reconciliation.entity.ReconciliationMode;
+import com.catarse.engine.reconciliation.entity.ReconciliationRun;
+import com.catarse.engine.reconciliation.repository.ReconciliationDriftRepository;
+import com.catarse.engine.reconciliation.repository.ReconciliationRunRepository;
+import com.catarse.engine.reconciliation.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private final ReconciliationEngine reconciliationEngine;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationDriftRepository driftRepository;
+
+    @Override
+    public ReconciliationRunResponse startRun(ReconciliationMode mode) {
+        return mapToResponse(reconciliationEngine.start(mode));
+    }
+
+    // Lê do primário: os contadores mudam durante a execução
+    @Override
+    @Transactional
+    public ReconciliationRunResponse getRun(Long runId) {
+        return runRepository.findById(runId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run not found: " + runId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReconciliationDriftResponse> getDrifts(Long runId, Pageable pageable) {
+        if (!runRepository.existsById(runId)) {
+            throw new ResourceNotFoundException("Reconciliation run not found: " + runId);
+        }
+        return driftRepository.findByRunIdOrderById(runId, pageable).map(this::mapToResponse);
+    }
+
+    private ReconciliationRunResponse mapToResponse(ReconciliationRun run) {
+        ReconciliationRunResponse response = new ReconciliationRunResponse();
+        response.setId(run.getId());
+        response.setMode(run.getMode());
+        response.setStatus(run.getStatus());
+        response.setMaxPaymentId(run.getMaxPaymentId());
+        response.setRangesTotal(run.getRangesTotal());
+        response.setRangesDone(run.getRangesDone());
+        response.setPaymentsScanned(run.getPaymentsScanned());
+        response.setAmountMismatches(run.getAmountMismatches());
+        response.setUnappliedPayments(run.getUnappliedPayments());
+        response.setUnappliedAmount(run.getUnappliedAmount());
+        response.setDriftsFound(run.getDriftsFound());
+        response.setDriftsCorrected(run.getDriftsCorrected());
+        response.setStartedAt(run.getStartedAt());
+        response.setFinishedAt(run.getFinishedAt());
+        response.setError(run.getError());
+        return response;
+    }
+
+    private ReconciliationDriftResponse mapToResponse(ReconciliationDrift drift) {
+        return new ReconciliationDriftResponse(drift.getCampaignId(), drift.getExpectedAmount(),
+                drift.getRecordedAmount(), drift.isCorrected(), drift.getDetectedAt());
+    }
+}
@@ -0,0 +1,96 @@
+package com.catarse.engine.throttle;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Limite de requests simultâneos que se ajusta sozinho (AIMD): resposta
+ * rápida soma 1/limite (uma unidade a cada "janela" cheia), resposta lenta ou
+ * erro de servidor multiplica por {@code backoff}, no máximo uma vez por
+ * intervalo de latência, para uma rajada de lentas não derrubar o limite ao
+ * mínimo. Acima do limite o request é recusado na hora, sem fila.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoff;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // double em bits: ajuste por CAS, sem lock no caminho do request
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${catarse.concurrency.initial-limit:100}") int initialLimit,
+                                      @Value("${catarse.concurrency.min-limit:10}") int minLimit,
+                                      @Value("${catarse.concurrency.max-limit:1000}") int maxLimit,
+                                      @Value("${catarse.concurrency.latency-threshold:500ms}") Duration latencyThreshold,
+                                      @Value("${catarse.concurrency.backoff:0.9}") double backoff) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoff = backoff;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.clamp(initialLimit, minLimit, maxLimit)));
+
+        meterRegistry.gauge("http.server.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit);
+        meterRegistry.gauge("http.server.concurrency.in-flight", inFlight);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // failed: erro do servidor (5xx); conta como sinal de sobrecarga, igual à resposta lenta
+    public void release(long latencyNanos, boolean failed) {
+        int before = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (before * 2 >= limit()) {
+            // Só cresce quando o limite está sendo usado; ocioso ele não diz nada
+            adjust(limit -> Math.min(maxLimit, limit + 1.0 / limit));
+        }
+    }
+
+    public double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void decrease() {
+        long now = System.nanoTime();
+        long last = lastDecrease.get();
+        if (now - last >= latencyThresholdNanos && lastDecrease.compareAndSet(last, now)) {
+            adjust(limit -> Math.max(minLimit, limit * backoff));
+        }
+    }
+
+    private void adjust(DoubleUnaryOperator change) {
+        while (true) {
+            long bits = limitBits.get();
+            long next = Double.doubleToLongBits(change.applyAsDouble(Double.longBitsToDouble(bits)));
+            if (bits == next || limitBits.compareAndSet(bits, next)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.catarse.engine.throttle;
+
+import com.catarse.engine.exception.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Descarte de carga: acima do limite do {@link AdaptiveConcurrencyLimiter}
+ * o request volta 503 antes de pegar conexão do pool, em vez de esperar numa
+ * fila e estourar o timeout de todo mundo. A latência de cada request que
+ * passou realimenta o limite.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED_AT = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new ServiceUnavailableException("Server is at capacity, try again shortly", RETRY_AFTER_SECONDS);
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request, response.getStatus() >= 500 || ex != null);
+    }
+
+    // Resposta assíncrona: a vaga é devolvida quando o handler sai; o corpo não conta como carga
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request, false);
+    }
+
+    private void release(HttpServletRequest request, boolean failed) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt != null) {
+            request.removeAttribute(STARTED_AT);
+            limiter.release(System.nanoTime() - (Long) startedAt, failed);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.catarse.engine.throttle;
+
+import com.catarse.engine.exception.TooManyRequestsException;
+import com.catarse.engine.user.security.AuthenticatedUserFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket na entrada da API, por cliente e grupo de rotas: login e
+ * cadastro por IP (alvo de força bruta), leituras e escritas pelo usuário do
+ * token, ou pelo IP sem token. Estourou: 429 com Retry-After, pelo
+ * {@code GlobalExceptionHandler}.
+ * <p>
+ * O IP é o {@code getRemoteAddr()}: atrás do balanceador, o Tomcat já o troca
+ * pelo do X-Forwarded-For quando a conexão vem de um proxy confiável
+ * ({@code server.forward-headers-strategy}, {@code server.tomcat.remoteip.internal-proxies}).
+ * Cabeçalho enviado direto por um cliente é ignorado.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final RatePolicy login;
+    private final RatePolicy read;
+    private final RatePolicy write;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, RatePolicy login, RatePolicy read, RatePolicy write) {
+        this.rateLimiter = rateLimiter;
+        this.login = login;
+        this.read = read;
+        this.write = write;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Redespacho de resposta assíncrona: o request já foi contado
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        RatePolicy policy;
+        String client;
+        Object userId = request.getAttribute(AuthenticatedUserFilter.USER_ID);
+        if (isAnonymousEntry(request)) {
+            policy = login;
+            client = request.getRemoteAddr();
+        } else {
+            policy = HttpMethod.GET.matches(request.getMethod()) ? read : write;
+            client = userId != null ? "user:" + userId : request.getRemoteAddr();
+        }
+        long waitNanos = rateLimiter.tryAcquire(policy, client);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many requests, slow down",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+        return true;
+    }
+
+    private static boolean isAnonymousEntry(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/api/v1/users/login") || path.equals("/api/v1/users");
+    }
+}
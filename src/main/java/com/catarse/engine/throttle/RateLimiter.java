@@ -0,0 +1,39 @@
+package com.catarse.engine.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Baldes por cliente e política, num mapa limitado: cliente parado há mais
+ * que o tempo ocioso sai (o balde dele já estaria cheio de novo), e o
+ * tamanho máximo segura uma varredura com milhões de IPs.
+ */
+@Component
+public class RateLimiter {
+
+    private final Cache<Key, TokenBucket> buckets;
+
+    public RateLimiter(MeterRegistry meterRegistry,
+                       @Value("${catarse.ratelimit.max-clients:100000}") long maxClients,
+                       @Value("${catarse.ratelimit.idle-timeout:10m}") Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        meterRegistry.gauge("ratelimit.buckets", buckets, Cache::estimatedSize);
+    }
+
+    // 0 se o request passa; senão nanos até o cliente poder tentar de novo
+    public long tryAcquire(RatePolicy policy, String client) {
+        long now = System.nanoTime();
+        return buckets.get(new Key(policy.name(), client), key -> new TokenBucket(policy, now)).tryAcquire(now);
+    }
+
+    private record Key(String policy, String client) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.catarse.engine.throttle;
+
+// Taxa sustentada e rajada de um grupo de rotas; cada cliente tem o seu balde
+public record RatePolicy(String name, double perSecond, int burst) {
+
+    public RatePolicy {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate policy " + name + " needs perSecond > 0 and burst >= 1");
+        }
+    }
+
+    long intervalNanos() {
+        return Math.max(1L, Math.round(1_000_000_000L / perSecond));
+    }
+}
@@ -0,0 +1,36 @@
+package com.catarse.engine.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket na forma GCRA: o estado é um único instante teórico de
+ * chegada, avançado por CAS. Cada request consome um intervalo; o balde
+ * aceita enquanto esse instante não passa de "agora + rajada".
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(RatePolicy policy, long now) {
+        this.intervalNanos = policy.intervalNanos();
+        this.capacityNanos = intervalNanos * policy.burst();
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    // 0 se passou; senão quantos nanos até caber outro request
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
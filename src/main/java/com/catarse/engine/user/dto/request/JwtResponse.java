@@ -1,4 +1,14 @@
 package com.catarse.engine.user.dto.request;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
 public class JwtResponse {
+    private String token;
+    private String type;
+    // Segundos até expirar
+    private long expiresIn;
+    private Long userId;
 }
@@ -1,4 +1,15 @@
 package com.catarse.engine.user.dto.response;
 
+import com.catarse.engine.user.entity.UserRole;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
 public class UserResponse {
+    private Long id;
+    private String name;
+    private String email;
+    private UserRole role;
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,8 @@
+package com.catarse.engine.user.entity;
+
+public enum UserRole {
+    USER,
+    ADMIN,
+    // Conta técnica do gateway de pagamento (webhooks)
+    PAYMENT_GATEWAY
+}
@@ -1,4 +1,16 @@
 package com.catarse.engine.user.repository;
 
-public class UserRepository {
+import com.catarse.engine.user.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    // Usado só no login e no cadastro, nunca no caminho autenticado
+    Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
 }
@@ -0,0 +1,36 @@
+package com.catarse.engine.user.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Expõe o usuário autenticado como atributos da requisição
+ * ({@code @RequestAttribute("userId")} nos controllers), lidos direto dos
+ * claims do token, sem consultar o banco.
+ */
+public class AuthenticatedUserFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID = "userId";
+    public static final String ROLES = "roles";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken token) {
+            request.setAttribute(USER_ID, Long.valueOf(token.getToken().getSubject()));
+            List<String> roles = token.getToken().getClaimAsStringList(JwtTokenService.ROLES_CLAIM);
+            request.setAttribute(ROLES, roles == null ? List.of() : roles);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,96 @@
+package com.catarse.engine.user.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Memoriza tokens já verificados (assinatura + exp/nbf/iss) até o exp de cada
+ * um, num cache limitado chaveado pelo SHA-256 do token — o token em si não
+ * fica guardado. Acerto no cache custa um hash; a deny-list é consultada em
+ * toda chamada, com ou sem acerto.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    // Teto da memorização; token sem exp (não emitido por nós) também fica só isso
+    private static final Duration MAX_TTL = Duration.ofHours(1);
+
+    private final JwtDecoder delegate;
+    private final TokenDenyList denyList;
+    private final Cache<TokenHash, Jwt> verified;
+
+    public CachingJwtDecoder(JwtDecoder delegate, TokenDenyList denyList, long maximumSize) {
+        this.delegate = delegate;
+        this.denyList = denyList;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiresAt())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        TokenHash key = TokenHash.of(token);
+        Jwt jwt = verified.getIfPresent(key);
+        if (jwt == null) {
+            jwt = delegate.decode(token);
+            verified.put(key, jwt);
+        }
+        if (denyList.isRevoked(jwt)) {
+            throw new BadJwtException("Token has been revoked");
+        }
+        return jwt;
+    }
+
+    public Cache<TokenHash, Jwt> cache() {
+        return verified;
+    }
+
+    record TokenHash(long h0, long h1, long h2, long h3) {
+
+        static TokenHash of(String token) {
+            try {
+                ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII)));
+                return new TokenHash(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class UntilExpiresAt implements Expiry<TokenHash, Jwt> {
+
+        @Override
+        public long expireAfterCreate(TokenHash key, Jwt jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return MAX_TTL.toNanos();
+            }
+            Duration ttl = Duration.between(Instant.now(), expiresAt);
+            return ttl.isNegative() ? 0 : Math.min(ttl.toNanos(), MAX_TTL.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenHash key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenHash key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.catarse.engine.user.security;
+
+import com.catarse.engine.user.dto.request.JwtResponse;
+import com.catarse.engine.user.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Emite os tokens do login com tudo o que o caminho autenticado precisa nos claims
+@Component
+public class JwtTokenService {
+
+    public static final String ROLES_CLAIM = "roles";
+
+    private final JwtEncoder jwtEncoder;
+    private final TokenDenyList denyList;
+    private final String issuer;
+    private final Duration ttl;
+
+    public JwtTokenService(JwtEncoder jwtEncoder,
+                           TokenDenyList denyList,
+                           @Value("${catarse.security.jwt.issuer:catarse-engine}") String issuer,
+                           @Value("${catarse.security.jwt.ttl:1h}") Duration ttl) {
+        this.jwtEncoder = jwtEncoder;
+        this.denyList = denyList;
+        this.issuer = issuer;
+        this.ttl = ttl;
+    }
+
+    public JwtResponse issue(User user) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject(user.getId().toString())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(ROLES_CLAIM, List.of(user.getRole().name()))
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        return new JwtResponse(token, "Bearer", ttl.toSeconds(), user.getId());
+    }
+
+    public void revoke(Jwt jwt) {
+        denyList.revoke(jwt);
+    }
+}
@@ -0,0 +1,39 @@
+package com.catarse.engine.user.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens revogados antes de expirar (logout), por jti. Cada entrada só vive
+ * até o exp do próprio token — depois disso o validador já o recusa — então o
+ * mapa fica do tamanho das revogações recentes. Em memória: vale para um nó.
+ */
+@Component
+public class TokenDenyList {
+
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(Jwt jwt) {
+        if (jwt.getId() != null && jwt.getExpiresAt() != null) {
+            revoked.put(jwt.getId(), jwt.getExpiresAt());
+        }
+    }
+
+    public boolean isRevoked(Jwt jwt) {
+        return !revoked.isEmpty() && jwt.getId() != null && revoked.containsKey(jwt.getId());
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${catarse.security.jwt.deny-list-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+    }
+}
@@ -1,4 +1,18 @@
 package com.catarse.engine.user.service;
 
-public class UserService {
+import com.catarse.engine.user.dto.request.JwtResponse;
+import com.catarse.engine.user.dto.request.LoginRequest;
+import com.catarse.engine.user.dto.request.UserRequest;
+import com.catarse.engine.user.dto.response.UserResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+public interface UserService {
+
+    UserResponse createUser(UserRequest request);
+
+    JwtResponse login(LoginRequest request);
+
+    void logout(Jwt token);
+
+    UserResponse getUserById(Long id);
 }
@@ -1,4 +1,85 @@
 package com.catarse.engine.user.service.impl;
 
-public class UserServiceImpl {
+import com.catarse.engine.exception.DuplicateResourceException;
+import com.catarse.engine.exception.ResourceNotFoundException;
+import com.catarse.engine.user.dto.request.JwtResponse;
+import com.catarse.engine.user.dto.request.LoginRequest;
+import com.catarse.engine.user.dto.request.UserRequest;
+import com.catarse.engine.user.dto.response.UserResponse;
+import com.catarse.engine.user.entity.User;
+import com.catarse.engine.user.entity.UserRole;
+import com.catarse.engine.user.repository.UserRepository;
+import com.catarse.engine.user.security.JwtTokenService;
+import com.catarse.engine.user.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenService jwtTokenService;
+
+    @Override
+    @Transactional
+    public UserResponse createUser(UserRequest request) {
+        String email = normalizeEmail(request.getEmail());
+        if (userRepository.existsByEmail(email)) {
+            throw new DuplicateResourceException("Email already registered: " + email);
+        }
+
+        User user = new User();
+        user.setName(request.getName());
+        user.setEmail(email);
+        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setRole(UserRole.USER);
+
+        return mapToResponse(userRepository.save(user));
+    }
+
+    // Única consulta de usuário do fluxo: depois disso tudo vem dos claims do token.
+    // Fica no primário (sem readOnly): o login logo após o cadastro não pode depender da réplica
+    @Override
+    @Transactional
+    public JwtResponse login(LoginRequest request) {
+        User user = userRepository.findByEmail(normalizeEmail(request.getEmail()))
+                .filter(found -> passwordEncoder.matches(request.getPassword(), found.getPasswordHash()))
+                .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
+        return jwtTokenService.issue(user);
+    }
+
+    @Override
+    public void logout(Jwt token) {
+        jwtTokenService.revoke(token);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponse getUserById(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        return mapToResponse(user);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private UserResponse mapToResponse(User user) {
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        response.setName(user.getName());
+        response.setEmail(user.getEmail());
+        response.setRole(user.getRole());
+        response.setCreatedAt(user.getCreatedAt());
+        return response;
+    }
 }
@@ -0,0 +1,149 @@
+package com.catarse.engine.campaign.search;
+
+import com.catarse.engine.campaign.dto.projection.CampaignSearchDocument;
+import com.catarse.engine.campaign.dto.response.CampaignResponse;
+import com.catarse.engine.campaign.dto.response.CampaignSummaryResponse;
+import com.catarse.engine.campaign.entity.CampaignStatus;
+import com.catarse.engine.campaign.ranking.CampaignRankingIndex;
+import com.catarse.engine.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Índice montado sem Spring, como no benchmark: ranking real, sem repositório
+class CampaignSearchIndexTest {
+
+    private static final Money GOAL = Money.ofCents(100_00);
+    private static final LocalDateTime END = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private CampaignRankingIndex ranking;
+    private CampaignSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new CampaignRankingIndex(null, null, Duration.ofHours(1), 60);
+        index = new CampaignSearchIndex(null, ranking, null, 0.5);
+    }
+
+    @Test
+    void updateMergesPostingsInIdOrder() {
+        load(row(1, "horta comunitaria", "bairro"), row(3, "horta escolar", "bairro"), row(5, "livro", "bairro"));
+
+        put(4, "horta urbana", "bairro", 0);
+        put(2, "horta nova", "bairro", 0);
+        put(5, "horta de livros", "bairro", 0);
+        index.remove(3L);
+
+        assertThat(ids("horta ")).containsExactlyInAnyOrder(1L, 2L, 4L, 5L);
+        assertThat(ids("livro ")).isEmpty();
+        assertThat(ids("escolar ")).isEmpty();
+        assertThat(ids("bairro ")).containsExactlyInAnyOrder(1L, 2L, 4L, 5L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        List<CampaignSearchDocument> rows = new ArrayList<>();
+        // "bairro" bem maior que os candidatos de "horta": interseção por busca binária
+        LongStream.rangeClosed(1, 50).forEach(id ->
+                rows.add(row(id, "projeto do bairro", id == 7 || id == 40 ? "horta" : "escola")));
+        // Listas de tamanho parecido: interseção por merge linear
+        rows.add(row(60, "teatro cinema", "oficina"));
+        rows.add(row(61, "teatro", "oficina"));
+        rows.add(row(62, "cinema", "oficina"));
+        load(rows.toArray(CampaignSearchDocument[]::new));
+
+        assertThat(ids("bairro horta ")).containsExactlyInAnyOrder(7L, 40L);
+        assertThat(ids("horta bairro ")).containsExactlyInAnyOrder(7L, 40L);
+        assertThat(ids("teatro cinema ")).containsExactly(60L);
+        assertThat(ids("teatro musica ")).isEmpty();
+    }
+
+    @Test
+    void prefixMatchesEachCampaignOnce() {
+        load(row(1, "música musical", "show"), row(2, "musical", "show"), row(3, "museu", "show"),
+                row(4, "teatro", "show"));
+
+        assertThat(ids("mus")).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids("musi")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("show mus")).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids("xyz")).isEmpty();
+    }
+
+    @Test
+    void shortPrefixKeepsItsMostFrequentTerms() {
+        List<CampaignSearchDocument> rows = new ArrayList<>();
+        // 64 termos raros que vêm antes de "xazul" no dicionário
+        for (int i = 0; i < 64; i++) {
+            rows.add(row(i + 1, String.format("xa%02d", i), "campanha"));
+        }
+        LongStream.rangeClosed(100, 102).forEach(id -> rows.add(row(id, "xazul", "campanha")));
+        load(rows.toArray(CampaignSearchDocument[]::new));
+
+        // Sai um dos raros, o último na ordem do dicionário ("xa63")
+        assertThat(ids("xa")).hasSize(66).contains(100L, 101L, 102L).doesNotContain(64L);
+    }
+
+    @Test
+    void titleOutweighsDescription() {
+        load(row(1, "alfa beta", "horta gama"), row(2, "horta beta", "alfa gama"));
+
+        assertThat(ids("horta ")).containsExactly(2L, 1L);
+        assertThat(ids("alfa ")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void fundingBreaksRelevanceTiesThenLowerIdWins() {
+        put(1, "horta", "bairro", 0);
+        put(2, "horta", "bairro", 0);
+        put(3, "horta", "bairro", 100_00);
+
+        assertThat(ids("horta ")).containsExactly(3L, 1L, 2L);
+        assertThat(index.search("horta ", 2)).extracting(CampaignSummaryResponse::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void skipsCampaignsNoLongerActive() {
+        load(row(1, "horta", "bairro"), row(2, "horta", "bairro"));
+        ranking.remove(1L);
+
+        assertThat(ids("horta ")).containsExactly(2L);
+    }
+
+    private void load(CampaignSearchDocument... rows) {
+        for (CampaignSearchDocument row : rows) {
+            ranking.upsert(campaign(row.getId(), row.getTitle(), row.getDescription(), 0));
+        }
+        index.load(List.of(rows).stream());
+    }
+
+    private void put(long id, String title, String description, long currentCents) {
+        CampaignResponse campaign = campaign(id, title, description, currentCents);
+        ranking.upsert(campaign);
+        index.upsert(campaign);
+    }
+
+    private List<Long> ids(String text) {
+        return index.search(text, 100).stream().map(CampaignSummaryResponse::getId).toList();
+    }
+
+    private static CampaignResponse campaign(long id, String title, String description, long currentCents) {
+        return CampaignResponse.builder().id(id).title(title).description(description).goalAmount(GOAL)
+                .currentAmount(Money.ofCents(currentCents)).endDate(END).status(CampaignStatus.ACTIVE).userId(1L)
+                .build();
+    }
+
+    private static CampaignSearchDocument row(long id, String title, String description) {
+        return new Row(id, title, description);
+    }
+
+    private record Row(Long getId, String getTitle, String getDescription) implements CampaignSearchDocument {
+    }
+}
@@ -0,0 +1,95 @@
+package com.catarse.engine.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void ofKeepsExactCentsWhateverTheScale() {
+        assertThat(Money.of(new BigDecimal("12")).cents()).isEqualTo(1200);
+        assertThat(Money.of(new BigDecimal("12.5")).cents()).isEqualTo(1250);
+        assertThat(Money.of(new BigDecimal("12.50")).cents()).isEqualTo(1250);
+        assertThat(Money.of(new BigDecimal("12.500")).cents()).isEqualTo(1250);
+        assertThat(Money.of(new BigDecimal("-0.05")).cents()).isEqualTo(-5);
+        assertThat(Money.of(new BigDecimal("1E+2")).cents()).isEqualTo(10_000);
+        assertThat(Money.of(BigDecimal.ZERO)).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    void ofRejectsFractionsOfACentInsteadOfRounding() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("12.345"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("12.355"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void ofRejectsAmountsBeyondLongCents() {
+        BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+        assertThat(Money.of(max).cents()).isEqualTo(Long.MAX_VALUE);
+        assertThatThrownBy(() -> Money.of(max.add(new BigDecimal("0.01")))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1E+30"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void arithmeticThrowsOnOverflowInsteadOfWrapping() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+        Money min = Money.ofCents(Long.MIN_VALUE);
+
+        assertThat(Money.ofCents(150).plus(Money.ofCents(-200))).isEqualTo(Money.ofCents(-50));
+        assertThat(Money.ofCents(150).minus(Money.ofCents(150))).isSameAs(Money.ZERO);
+        assertThatThrownBy(() -> max.plus(Money.ofCents(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> min.minus(Money.ofCents(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(min::negate).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toStringAlwaysHasTwoDecimals() {
+        assertThat(Money.ZERO).hasToString("0.00");
+        assertThat(Money.ofCents(5)).hasToString("0.05");
+        assertThat(Money.ofCents(-5)).hasToString("-0.05");
+        assertThat(Money.ofCents(-1230)).hasToString("-12.30");
+        assertThat(Money.ofCents(123_450)).hasToString("1234.50");
+        assertThat(Money.ofCents(Long.MIN_VALUE)).hasToString("-92233720368547758.08");
+        assertThat(Money.ofCents(-1230).toBigDecimal()).isEqualByComparingTo("-12.30");
+    }
+
+    @Test
+    void fractionOfTreatsAMissingGoalAsZero() {
+        assertThat(Money.ofCents(2_500).fractionOf(Money.ofCents(10_000))).isEqualTo(0.25);
+        assertThat(Money.ofCents(15_000).fractionOf(Money.ofCents(10_000))).isEqualTo(1.5);
+        assertThat(Money.ofCents(2_500).fractionOf(Money.ZERO)).isZero();
+    }
+
+    @Test
+    void jsonParsesNumbersAndText() throws Exception {
+        assertThat(mapper.readValue("150", Money.class)).isEqualTo(Money.ofCents(15_000));
+        assertThat(mapper.readValue("150.5", Money.class)).isEqualTo(Money.ofCents(15_050));
+        assertThat(mapper.readValue("\" 150.05 \"", Money.class)).isEqualTo(Money.ofCents(15_005));
+        assertThat(mapper.writeValueAsString(Money.ofCents(15_000_000))).isEqualTo("150000.00");
+        assertThat(mapper.writeValueAsString(Money.ofCents(-5))).isEqualTo("-0.05");
+    }
+
+    @Test
+    void jsonRejectsWhatMoneyCannotHoldExactly() {
+        assertThatThrownBy(() -> mapper.readValue("10.999", Money.class))
+                .isInstanceOf(MismatchedInputException.class);
+        assertThatThrownBy(() -> mapper.readValue("\"10.999\"", Money.class))
+                .isInstanceOf(MismatchedInputException.class);
+        assertThatThrownBy(() -> mapper.readValue("1e30", Money.class))
+                .isInstanceOf(MismatchedInputException.class);
+        assertThatThrownBy(() -> mapper.readValue("\"dez reais\"", Money.class))
+                .isInstanceOf(MismatchedInputException.class);
+        assertThatThrownBy(() -> mapper.readValue("true", Money.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.catarse.engine.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // 10/s com rajada de 3: um request a cada 100 ms, até 3 de uma vez
+    private static final RatePolicy POLICY = new RatePolicy("test", 10, 3);
+
+    @Test
+    void acceptsTheBurstThenReportsTheWaitForTheNextSlot() {
+        TokenBucket bucket = new TokenBucket(POLICY, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(100 * MS);
+        assertThat(bucket.tryAcquire(40 * MS)).isEqualTo(60 * MS);
+    }
+
+    @Test
+    void acceptsAgainAfterTheReportedWait() {
+        TokenBucket bucket = new TokenBucket(POLICY, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        long wait = bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(wait - 1)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(wait)).isZero();
+        assertThat(bucket.tryAcquire(wait)).isEqualTo(100 * MS);
+    }
+
+    @Test
+    void rejectionsDoNotConsumeCapacity() {
+        TokenBucket bucket = new TokenBucket(POLICY, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(bucket.tryAcquire(50 * MS)).isEqualTo(50 * MS);
+        }
+        assertThat(bucket.tryAcquire(100 * MS)).isZero();
+    }
+
+    @Test
+    void idleTimeRefillsOnlyUpToTheBurst() {
+        TokenBucket bucket = new TokenBucket(POLICY, 0);
+        long later = TimeUnit.MINUTES.toNanos(10);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isEqualTo(100 * MS);
+    }
+
+    @Test
+    void sustainedRateIsOnePerInterval() {
+        TokenBucket bucket = new TokenBucket(new RatePolicy("test", 10, 1), 0);
+        int accepted = 0;
+        // Um pedido por milissegundo durante 10 s
+        for (long now = 0; now < 10_000 * MS; now += MS) {
+            if (bucket.tryAcquire(now) == 0) {
+                accepted++;
+            }
+        }
+        assertThat(accepted).isEqualTo(100);
+    }
+
+    @Test
+    void concurrentCallersShareTheBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(new RatePolicy("test", 1, 50), 0);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(accepted).hasValue(50);
+    }
+
+    @Test
+    void policyRoundsTheIntervalAndRejectsInvalidRates() {
+        assertThat(new RatePolicy("test", 3, 1).intervalNanos()).isEqualTo(333_333_333L);
+        assertThat(new RatePolicy("test", 5e9, 1).intervalNanos()).isEqualTo(1L);
+        assertThatThrownBy(() -> new RatePolicy("test", 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RatePolicy("test", 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}